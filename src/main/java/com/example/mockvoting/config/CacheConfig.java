@@ -0,0 +1,42 @@
+package com.example.mockvoting.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * 선거/후보/공약 등 선거 기간 중 변하지 않는 참조 데이터 캐시 설정
+ * - 캐시 무효화는 관리자 API(/api/admin/cache)로만 수행한다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ELECTIONS = "elections";
+    public static final String VOTING_ELECTIONS = "votingElections";
+    public static final String PARTY_POLICIES = "partyPolicies";
+    public static final String PARTY_NAMES = "partyNames";
+    public static final String CANDIDATES = "candidates";
+    public static final String CANDIDATE_POLICIES = "candidatePolicies";
+
+    @Bean
+    public CacheManager cacheManager() {
+        return new ConcurrentMapCacheManager(
+                ELECTIONS, VOTING_ELECTIONS, PARTY_POLICIES, PARTY_NAMES, CANDIDATES, CANDIDATE_POLICIES);
+    }
+
+    /**
+     * 참조 데이터 API 의 ETag / If-None-Match 처리 (변경이 없으면 304 응답)
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> referenceDataEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/election/*", "/api/candidate/*");
+        return registration;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.mockvoting.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 다중 인스턴스 리더 임대 (chat.broker.mode 가 simple 이 아닐 때)
+ * - 선거 결과 발행, 투표 원장 반영처럼 한 인스턴스만 실행해야 하는 주기 작업의 실행 여부를 판단한다.
+ * - Redis 키 하나를 임대 시간 동안 소유한 인스턴스가 리더이며, 임대 시간의 1/3 주기로 연장한다.
+ * - simple 모드는 단일 인스턴스이므로 항상 리더다.
+ */
+@Slf4j
+@Component
+public class InstanceLeaderLease {
+
+    private static final String LEASE_KEY = "instance:leader";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisScript<Long> acquireLeaseScript =
+            RedisScript.of(new ClassPathResource("redis/acquire_lease.lua"), Long.class);
+
+    private final boolean singleInstance;
+
+    private final long leaseMs;
+
+    // 리더 임대가 유효한 시각 (Redis 응답이 끊기면 이 시각 이후 리더가 아님)
+    private volatile long leaderUntil;
+
+    public InstanceLeaderLease(StringRedisTemplate redisTemplate,
+                               @Value("${chat.broker.mode:simple}") String brokerMode,
+                               @Value("${instance.leader.lease-ms:15000}") long leaseMs) {
+        this.redisTemplate = redisTemplate;
+        this.singleInstance = "simple".equals(brokerMode);
+        this.leaseMs = leaseMs;
+    }
+
+    public boolean isLeader() {
+        return singleInstance || System.currentTimeMillis() < leaderUntil;
+    }
+
+    @Scheduled(fixedDelayString = "#{${instance.leader.lease-ms:15000} / 3}")
+    public void renew() {
+        if (singleInstance) {
+            return;
+        }
+
+        try {
+            long requestedAt = System.currentTimeMillis();
+            Long result = redisTemplate.execute(acquireLeaseScript, List.of(LEASE_KEY),
+                    instanceId, String.valueOf(leaseMs));
+            boolean wasLeader = isLeader();
+            // 요청 시각 기준으로 잡아야 Redis 의 만료보다 늦게 리더로 남지 않음
+            leaderUntil = result != null && result == 1 ? requestedAt + leaseMs : 0;
+            if (wasLeader != isLeader()) {
+                log.info("인스턴스 리더 변경: instanceId={}, leader={}", instanceId, isLeader());
+            }
+        } catch (Exception e) {
+            log.error("인스턴스 리더 임대 연장 실패: instanceId={}", instanceId, e);
+        }
+    }
+}
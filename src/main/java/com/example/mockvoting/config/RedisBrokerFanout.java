@@ -0,0 +1,138 @@
+package com.example.mockvoting.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Redis pub/sub 기반 인스턴스 간 STOMP 메시지 전파 (chat.broker.mode=redis)
+ * - 각 인스턴스는 로컬 simple broker 로 자신의 구독자에게만 전달하고, /topic 발행은 Redis 채널로 다른 인스턴스에 전파한다.
+ * - 다른 인스턴스에서 받은 메시지는 로컬 brokerChannel 에 다시 넣으며, 전파 표시 헤더로 재전파를 막는다.
+ * - 인스턴스별 상태 처리
+ *   - 채팅 기록 버퍼: ChatHistoryRelay 가 저장/사후 필터링을 다른 인스턴스 버퍼에 반영
+ *   - 선거 결과 발행, 투표 원장 반영: InstanceLeaderLease 의 리더만 실행
+ *   - 채팅방 접속자 목록(ChatPresenceService), 게시글 검색 색인(PostSearchIndex): 인스턴스 로컬로 남으므로
+ *     chat.broker.allow-instance-local-state=true 로 명시해야 이 모드로 시작할 수 있다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class RedisBrokerFanout implements ChannelInterceptor, MessageListener {
+
+    private static final String CHANNEL = "stomp:broadcast";
+    private static final String RELAYED_HEADER = "redisRelayed";
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final MessageChannel brokerChannel;
+
+    private RedisMessageListenerContainer container;
+
+    public RedisBrokerFanout(StringRedisTemplate redisTemplate,
+                             RedisConnectionFactory connectionFactory,
+                             @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.brokerChannel = brokerChannel;
+    }
+
+    @PostConstruct
+    public void start() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        log.info("STOMP Redis 전파 시작: instanceId={}", instanceId);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        container.destroy();
+    }
+
+    /**
+     * 로컬에서 발행된 /topic 메시지를 다른 인스턴스로 전파 (brokerChannel 인터셉터)
+     */
+    @Override
+    public org.springframework.messaging.Message<?> preSend(org.springframework.messaging.Message<?> message,
+                                                            MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || destination == null || !destination.startsWith(TOPIC_PREFIX)
+                || message.getHeaders().containsKey(RELAYED_HEADER)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        try {
+            Map<String, String> envelope = new HashMap<>();
+            envelope.put("origin", instanceId);
+            envelope.put("destination", destination);
+            envelope.put("payload", Base64.getEncoder().encodeToString(payload));
+            if (accessor.getContentType() != null) {
+                envelope.put("contentType", accessor.getContentType().toString());
+            }
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // 전파에 실패해도 로컬 구독자에게는 전달
+            log.error("STOMP 메시지 Redis 전파 실패: destination={}", destination, e);
+        }
+        return message;
+    }
+
+    /**
+     * 다른 인스턴스에서 전파된 메시지를 로컬 구독자에게 전달
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Map<String, String> envelope = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), new TypeReference<>() {});
+            if (instanceId.equals(envelope.get("origin"))) {
+                return;
+            }
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(envelope.get("destination"));
+            if (envelope.get("contentType") != null) {
+                accessor.setContentType(MimeType.valueOf(envelope.get("contentType")));
+            }
+            accessor.setHeader(RELAYED_HEADER, true);
+
+            byte[] payload = Base64.getDecoder().decode(envelope.get("payload"));
+            brokerChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+        } catch (Exception e) {
+            log.error("Redis 전파 STOMP 메시지 처리 실패", e);
+        }
+    }
+}
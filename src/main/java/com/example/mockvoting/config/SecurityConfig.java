@@ -55,6 +55,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/candidate/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/election/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/**").authenticated()
                         .requestMatchers("/ws/**").permitAll() // WebSocket
                         .anyRequest().permitAll()
@@ -0,0 +1,179 @@
+package com.example.mockvoting.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 느린 구독자 대응 (WebSocket 세션 데코레이터)
+ * - 발신 메시지가 실제로 쌓이는 곳은 채널 대기열이 아니라 세션별 전송 버퍼(ConcurrentWebSocketSessionDecorator)다.
+ * - chat.transport.slow-consumer-policy=drop 이면 세션 전송 버퍼가 한도를 넘을 때 오래된 메시지부터 버린다.
+ *   (OverflowStrategy.DROP 과 같은 동작)
+ *   Spring 이 세션마다 씌우는 TERMINATE 데코레이터는 소켓 쓰기 동안 잠금을 쥐고 있어 그 안쪽에 DROP 데코레이터를
+ *   두면 버퍼가 바깥에만 쌓이므로, 소켓 쓰기는 전송 스레드(ws-sender-*)로 넘기고 버퍼는 여기서 관리한다.
+ *   소켓 쓰기 하나가 send-time-limit 보다 오래 멈춘 세션은 끊는다.
+ * - disconnect(기본값)이면 Spring 기본 동작대로 전송 시간/버퍼 한도(WebSocketConfig)를 넘은 세션을 끊는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlowConsumerDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.transport.slow-consumer-policy:disconnect}")
+    private String slowConsumerPolicy;
+
+    @Value("${chat.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${chat.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    // 소켓 쓰기 스레드 수 (쓰기가 막힌 세션 하나가 스레드 하나를 점유)
+    @Value("${chat.transport.sender-threads:32}")
+    private int senderThreads;
+
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        if (!isDropPolicy()) {
+            return;
+        }
+        AtomicInteger threadSeq = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ws-sender-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sender != null) {
+            sender.shutdownNow();
+        }
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        if (!isDropPolicy()) {
+            return handler;
+        }
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(new DroppingSession(session));
+            }
+        };
+    }
+
+    private boolean isDropPolicy() {
+        return "drop".equals(slowConsumerPolicy);
+    }
+
+    /**
+     * 전송 버퍼를 직접 관리하는 세션
+     * - sendMessage 는 버퍼에 넣고 바로 반환하며, 실제 소켓 쓰기는 세션당 하나의 전송 작업이 순서대로 수행한다.
+     */
+    private class DroppingSession extends WebSocketSessionDecorator {
+
+        private final ConcurrentLinkedDeque<WebSocketMessage<?>> buffer = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger bufferSize = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 진행 중인 소켓 쓰기 시작 시각 (0 이면 쓰기 중 아님)
+        private volatile long sendStartedAt;
+
+        DroppingSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (!isOpen()) {
+                return;
+            }
+
+            long started = sendStartedAt;
+            if (started != 0 && System.currentTimeMillis() - started > sendTimeLimitMs) {
+                meterRegistry.counter("stomp.outbound.slow.closed").increment();
+                log.warn("WebSocket 전송이 {}ms 이상 멈춰 세션 종료: sessionId={}", sendTimeLimitMs, getId());
+                closeQuietly();
+                return;
+            }
+
+            buffer.addLast(message);
+            bufferSize.addAndGet(message.getPayloadLength());
+            while (bufferSize.get() > sendBufferSizeLimit) {
+                WebSocketMessage<?> dropped = buffer.pollFirst();
+                if (dropped == null) {
+                    break;
+                }
+                bufferSize.addAndGet(-dropped.getPayloadLength());
+                meterRegistry.counter("stomp.outbound.dropped").increment();
+            }
+
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                WebSocketMessage<?> message;
+                while ((message = buffer.pollFirst()) != null) {
+                    bufferSize.addAndGet(-message.getPayloadLength());
+                    sendStartedAt = System.currentTimeMillis();
+                    try {
+                        getDelegate().sendMessage(message);
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("WebSocket 전송 실패, 세션 종료: sessionId={}", getId(), e);
+                buffer.clear();
+                bufferSize.set(0);
+                closeQuietly();
+            } finally {
+                draining.set(false);
+            }
+
+            // 마지막 확인 이후 들어온 메시지
+            if (!buffer.isEmpty() && isOpen()) {
+                scheduleDrain();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception e) {
+                log.debug("WebSocket 세션 종료 실패: sessionId={}", getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.mockvoting.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageMappingInfo;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP 채널 계측 (Micrometer)
+ * - 목적지별 수신/발신 건수, 인바운드 핸들러 처리 시간 히스토그램, 채널 실행기 대기열 길이를 메트릭으로 노출한다.
+ * - 발신 처리가 임계값보다 오래 걸린 세션은 느린 구독자로 집계한다.
+ * - 메시지 단위 로그는 debug 레벨에서 표본만 남긴다.
+ * - 목적지 태그는 일치한 매핑 패턴(@MessageMapping, 구독 토픽 패턴)을 쓰고, 일치하지 않는 목적지는 other 로 묶는다.
+ *   (/app/chat.send/3 → /app/chat.send/{roomId}) 클라이언트가 임의의 목적지를 보내도 태그 수가 늘지 않는다.
+ * - 게이지는 실행기를 측정 시점에 조회하고 강한 참조로 등록해 GC 후 NaN 이 되지 않게 한다.
+ *   스레드 풀이 아닌 실행기(가상 스레드 작업별 실행기 등)는 대기열이 없으므로 0, 처리 중 작업 수는 인터셉터가 센 값을 쓴다.
+ */
+@Slf4j
+@Component
+public class StompMetricsInterceptor {
+
+    private static final String OTHER_DESTINATION = "other";
+    private static final int MAX_CACHED_DESTINATIONS = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final SimpAnnotationMethodMessageHandler messageHandler;
+    private final ObjectProvider<Executor> inboundExecutor;
+    private final ObjectProvider<Executor> outboundExecutor;
+
+    // 서버가 발행하는 구독 토픽 패턴 (@MessageMapping 이 없는 브로커 목적지)
+    @Value("${chat.metrics.topic-patterns:/topic/chat/*,/topic/participants/*,/topic/unread/*,/topic/election/*/results}")
+    private List<String> topicPatterns;
+
+    // 메시지 로그 표본 비율 (N건 중 1건)
+    @Value("${chat.metrics.log-sample-rate:100}")
+    private int logSampleRate;
+
+    @Value("${chat.metrics.slow-consumer-threshold-ms:1000}")
+    private long slowConsumerThresholdMs;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<String, String> destinationTags = new ConcurrentHashMap<>();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private volatile List<String> destinationPatterns;
+
+    // 채널별 처리 중 작업 수 (beforeHandle ~ afterMessageHandled)
+    private final AtomicInteger inboundInFlight = new AtomicInteger();
+    private final AtomicInteger outboundInFlight = new AtomicInteger();
+
+    private final ChannelInterceptor inbound = new InboundInterceptor();
+    private final ChannelInterceptor outbound = new OutboundInterceptor();
+
+    public StompMetricsInterceptor(MeterRegistry meterRegistry,
+                                   @Lazy SimpAnnotationMethodMessageHandler messageHandler,
+                                   @Qualifier("clientInboundChannelExecutor") ObjectProvider<Executor> inboundExecutor,
+                                   @Qualifier("clientOutboundChannelExecutor") ObjectProvider<Executor> outboundExecutor) {
+        this.meterRegistry = meterRegistry;
+        this.messageHandler = messageHandler;
+        this.inboundExecutor = inboundExecutor;
+        this.outboundExecutor = outboundExecutor;
+        registerExecutorGauges("inbound", this.inboundExecutor, inboundInFlight);
+        registerExecutorGauges("outbound", this.outboundExecutor, outboundInFlight);
+    }
+
+    /**
+     * clientInboundChannel 용 인터셉터
+     */
+    public ChannelInterceptor inbound() {
+        return inbound;
+    }
+
+    /**
+     * clientOutboundChannel 용 인터셉터
+     */
+    public ChannelInterceptor outbound() {
+        return outbound;
+    }
+
+    private void registerExecutorGauges(String channel, ObjectProvider<Executor> executor, AtomicInteger inFlight) {
+        Gauge.builder("stomp.channel.queue.size", executor, StompMetricsInterceptor::queueSize)
+                .tag("channel", channel)
+                .description("STOMP 채널 실행기 대기 작업 수")
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder("stomp.channel.active.threads", inFlight, AtomicInteger::get)
+                .tag("channel", channel)
+                .description("STOMP 채널 처리 중 작업 수")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    private static double queueSize(ObjectProvider<Executor> provider) {
+        Executor executor = provider.getIfAvailable();
+        if (executor instanceof ThreadPoolTaskExecutor pool && pool.getThreadPoolExecutor() != null) {
+            return pool.getThreadPoolExecutor().getQueue().size();
+        }
+        return 0;
+    }
+
+    private String destinationTag(MessageHeaders headers) {
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination == null) {
+            return "none";
+        }
+
+        String tag = destinationTags.get(destination);
+        if (tag == null) {
+            tag = OTHER_DESTINATION;
+            for (String pattern : destinationPatterns()) {
+                if (pathMatcher.match(pattern, destination)) {
+                    tag = pattern;
+                    break;
+                }
+            }
+            if (destinationTags.size() < MAX_CACHED_DESTINATIONS) {
+                destinationTags.put(destination, tag);
+            }
+        }
+        return tag;
+    }
+
+    // @MessageMapping/@SubscribeMapping 패턴(애플리케이션 prefix 포함)과 구독 토픽 패턴
+    private List<String> destinationPatterns() {
+        List<String> patterns = destinationPatterns;
+        if (patterns == null) {
+            patterns = new ArrayList<>();
+            for (SimpMessageMappingInfo mapping : messageHandler.getHandlerMethods().keySet()) {
+                for (String pattern : mapping.getDestinationConditions().getPatterns()) {
+                    for (String prefix : messageHandler.getDestinationPrefixes()) {
+                        patterns.add(StringUtils.trimTrailingCharacter(prefix, '/') + pattern);
+                    }
+                }
+            }
+            patterns.addAll(topicPatterns);
+            destinationPatterns = patterns;
+        }
+        return patterns;
+    }
+
+    private String typeTag(MessageHeaders headers) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+        return type == null ? "none" : type.name();
+    }
+
+    private boolean sampled() {
+        return log.isDebugEnabled() && sequence.incrementAndGet() % Math.max(logSampleRate, 1) == 0;
+    }
+
+    private class InboundInterceptor implements ExecutorChannelInterceptor {
+
+        private final ThreadLocal<Long> handleStart = new ThreadLocal<>();
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            MessageHeaders headers = message.getHeaders();
+            meterRegistry.counter("stomp.inbound.messages",
+                    "type", typeTag(headers), "destination", destinationTag(headers)).increment();
+
+            if (sampled()) {
+                log.debug("STOMP 수신: type={}, destination={}, sessionId={}", typeTag(headers),
+                        SimpMessageHeaderAccessor.getDestination(headers),
+                        SimpMessageHeaderAccessor.getSessionId(headers));
+            }
+            return message;
+        }
+
+        @Override
+        public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+            inboundInFlight.incrementAndGet();
+            handleStart.set(System.nanoTime());
+            return message;
+        }
+
+        @Override
+        public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                        Exception ex) {
+            Long start = handleStart.get();
+            handleStart.remove();
+            if (start == null) {
+                return;
+            }
+            inboundInFlight.decrementAndGet();
+
+            Timer.builder("stomp.inbound.handle")
+                    .tag("destination", destinationTag(message.getHeaders()))
+                    .tag("handler", handler.getClass().getSimpleName())
+                    .tag("outcome", ex == null ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private class OutboundInterceptor implements ExecutorChannelInterceptor {
+
+        private final ThreadLocal<Long> handleStart = new ThreadLocal<>();
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            meterRegistry.counter("stomp.outbound.messages",
+                    "destination", destinationTag(message.getHeaders())).increment();
+            return message;
+        }
+
+        @Override
+        public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+            outboundInFlight.incrementAndGet();
+            handleStart.set(System.nanoTime());
+            return message;
+        }
+
+        @Override
+        public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                        Exception ex) {
+            Long start = handleStart.get();
+            handleStart.remove();
+            if (start == null) {
+                return;
+            }
+            outboundInFlight.decrementAndGet();
+
+            long elapsed = System.nanoTime() - start;
+            meterRegistry.timer("stomp.outbound.send").record(elapsed, TimeUnit.NANOSECONDS);
+
+            // 세션 전송이 오래 걸리면 느린 구독자로 판단
+            if (TimeUnit.NANOSECONDS.toMillis(elapsed) >= slowConsumerThresholdMs) {
+                meterRegistry.counter("stomp.outbound.slow").increment();
+                log.warn("느린 STOMP 구독자: sessionId={}, 처리 시간={}ms",
+                        SimpMessageHeaderAccessor.getSessionId(message.getHeaders()),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+}
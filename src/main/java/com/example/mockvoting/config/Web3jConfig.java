@@ -0,0 +1,41 @@
+package com.example.mockvoting.config;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블록체인 RPC 클라이언트 설정
+ * - 호출마다 Web3j 를 생성/종료하지 않고 커넥션 풀을 공유하는 단일 인스턴스를 사용한다.
+ */
+@Configuration
+public class Web3jConfig {
+
+    @Value("${blockchain.rpc-url}")
+    private String rpcUrl;
+
+    @Value("${blockchain.client.max-concurrent-calls:8}")
+    private int maxConcurrentCalls;
+
+    @Value("${blockchain.client.call-timeout-ms:10000}")
+    private long callTimeoutMs;
+
+    @Bean(destroyMethod = "shutdown")
+    public Web3j web3j() {
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxConcurrentCalls, 5, TimeUnit.MINUTES))
+                .connectTimeout(Duration.ofMillis(callTimeoutMs))
+                .readTimeout(Duration.ofMillis(callTimeoutMs))
+                .callTimeout(Duration.ofMillis(callTimeoutMs))
+                .build();
+
+        return Web3j.build(new HttpService(rpcUrl, httpClient));
+    }
+}
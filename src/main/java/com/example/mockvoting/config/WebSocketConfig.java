@@ -5,17 +5,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageChannel;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.messaging.simp.stomp.StompCommand;
-import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
-import org.springframework.messaging.support.ChannelInterceptor;
-import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -28,15 +25,106 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private JwtUtil jwtUtil;
 
+    // 브로커 방식: simple(단일 인스턴스), redis(인스턴스 간 Redis pub/sub 전파), relay(외부 STOMP 브로커)
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    // simple 이 아닌 모드에서 인스턴스 로컬로 남는 상태를 감수한다는 명시적 설정 (RedisBrokerFanout 참고)
+    @Value("${chat.broker.allow-instance-local-state:false}")
+    private boolean allowInstanceLocalState;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Autowired
+    private StompMetricsInterceptor stompMetricsInterceptor;
+
+    @Autowired
+    private SlowConsumerDecoratorFactory slowConsumerDecoratorFactory;
+
+    // 수신 채널 실행기 (컨트롤러 핸들러 실행)
+    @Value("${chat.channel.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${chat.channel.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${chat.channel.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    // 수신 핸들러를 작업마다 새 가상 스레드로 실행 (JDK 21 이상에서만 사용 가능, 풀/대기열 설정은 무시됨)
+    @Value("${chat.channel.inbound.virtual-threads:false}")
+    private boolean inboundVirtualThreads;
+
+    // 발신 채널 실행기 (세션으로 메시지 전송)
+    @Value("${chat.channel.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${chat.channel.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${chat.channel.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    // 세션별 전송 한도: 초과하면 세션을 끊는다 (느린 구독자로 인한 메모리 누적 방지)
+    // chat.transport.slow-consumer-policy=drop 이면 끊지 않고 오래된 메시지를 버린다 (SlowConsumerDecoratorFactory)
+    @Value("${chat.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${chat.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    // chat.broker.mode=redis 일 때만 등록됨
+    @Autowired(required = false)
+    private RedisBrokerFanout redisBrokerFanout;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) { // 메시지를 전달하는 중개자 역할
+        if (!"simple".equals(brokerMode) && !allowInstanceLocalState) {
+            throw new IllegalStateException("chat.broker.mode=" + brokerMode + " 에서는 채팅방 접속자 목록과 게시글 검색 색인이 "
+                    + "인스턴스별로 유지됩니다. 감수하려면 chat.broker.allow-instance-local-state=true 로 설정하세요.");
+        }
+
         // 메시지 구독 요청 prefix (client가 구독할 수 있는 topic의 prefix)
-        registry.enableSimpleBroker("/topic");
+        // - /topic/chat/{roomId}, /topic/participants/{roomId} : 채팅
+        // - /topic/election/{sgId}/results : 실시간 선거 결과 (ElectionResultPublisher)
+        if ("relay".equals(brokerMode)) {
+            // 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)가 구독과 전달을 모두 담당
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            // simple, redis 모두 구독 관리는 인스턴스 로컬 (redis 는 발행만 인스턴스 간 전파)
+            registry.enableSimpleBroker("/topic");
+        }
 
         // 메시지 발행 요청 prefix (client가 메시지를 발행할 때 사용할 prefix)
         registry.setApplicationDestinationPrefixes("/app");
 
-        System.out.println("WebSocket 메시지 브로커 설정 완료: /topic, /app");
+        log.info("WebSocket 메시지 브로커 설정 완료: mode={}, /topic, /app", brokerMode);
+    }
+
+    @Override
+    public void configureBrokerChannel(ChannelRegistration registration) {
+        if (redisBrokerFanout != null) {
+            registration.interceptors(redisBrokerFanout);
+        }
     }
 
     @Override
@@ -48,25 +136,44 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
-    // 추후 삭제 :: WebSocket 디버깅을 위한 핸들러 인터셉터 추가
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(slowConsumerDecoratorFactory);
+    }
+
+    // 수신/발신 채널 계측 (메트릭: stomp.inbound.*, stomp.outbound.*, stomp.channel.*)
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(new ChannelInterceptor() {
-            @Override
-            public Message<?> preSend(Message<?> message, MessageChannel channel) {
-                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
-
-                if (accessor != null) {
-                    System.out.println("WebSocket Message Type: " + accessor.getCommand());
-                    if (accessor.getCommand() == StompCommand.SEND) {
-                        System.out.println("WebSocket 메시지 전송: " + message.getPayload());
-                        System.out.println("WebSocket 목적지: " + accessor.getDestination());
-                    }
-                }
-
-                return message;
-            }
-        });
+        if (inboundVirtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        } else {
+            registration.taskExecutor(channelExecutor("stomp-inbound-", inboundCorePoolSize, inboundMaxPoolSize,
+                    inboundQueueCapacity));
+        }
+        registration.interceptors(stompMetricsInterceptor.inbound());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("stomp-outbound-", outboundCorePoolSize, outboundMaxPoolSize,
+                outboundQueueCapacity));
+        registration.interceptors(stompMetricsInterceptor.outbound());
+    }
+
+    // 대기열이 가득 차면 새 메시지를 거절하는 크기 제한 실행기
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix, int corePoolSize, int maxPoolSize,
+                                                   int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.example.mockvoting.domain.admin.controller;
+
+import com.example.mockvoting.domain.admin.service.ReferenceCacheService;
+import com.example.mockvoting.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class AdminCacheController {
+
+    private final ReferenceCacheService referenceCacheService;
+
+    // 캐시 목록 조회
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<String>>> getCacheNames() {
+        return ResponseEntity.ok(ApiResponse.success(referenceCacheService.getCacheNames()));
+    }
+
+    // 전체 캐시 무효화 (무효화 후 다시 적재)
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> evictAll() {
+        referenceCacheService.evictAll();
+        return ResponseEntity.ok(ApiResponse.success("캐시를 무효화했습니다.", null));
+    }
+
+    // 특정 캐시 무효화
+    @DeleteMapping("/{cacheName}")
+    public ResponseEntity<ApiResponse<Void>> evict(@PathVariable String cacheName) {
+        referenceCacheService.evict(cacheName);
+        return ResponseEntity.ok(ApiResponse.success("캐시를 무효화했습니다.", null));
+    }
+}
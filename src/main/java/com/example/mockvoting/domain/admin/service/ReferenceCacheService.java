@@ -0,0 +1,78 @@
+package com.example.mockvoting.domain.admin.service;
+
+import com.example.mockvoting.domain.candidate.entity.Election;
+import com.example.mockvoting.domain.candidate.service.CandidateService;
+import com.example.mockvoting.domain.candidate.service.ElectionService;
+import com.example.mockvoting.domain.voting.service.PartyRollupService;
+import com.example.mockvoting.domain.voting.service.VotingService;
+import com.example.mockvoting.exception.CustomException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 참조 데이터(선거, 후보, 공약) 캐시 관리
+ * - 애플리케이션 시작 시 미리 적재하고, 관리자 요청 시 무효화 후 다시 적재한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceCacheService {
+
+    private final CacheManager cacheManager;
+    private final ElectionService electionService;
+    private final CandidateService candidateService;
+    private final VotingService votingService;
+    private final PartyRollupService partyRollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        try {
+            List<Election> elections = electionService.findAllElections();
+            for (Election election : elections) {
+                String sgId = election.getSgId();
+                candidateService.getCandidatesBySgId(sgId);
+                votingService.getElectionById(sgId);
+                votingService.getPartyPoliciesBySgId(sgId);
+                votingService.getDistinctPartyNamesBySgId(sgId);
+            }
+            log.info("참조 데이터 캐시 적재 완료: 선거 {}건", elections.size());
+        } catch (Exception e) {
+            log.warn("참조 데이터 캐시 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 전체 참조 데이터 캐시 무효화 후 다시 적재
+     */
+    public void evictAll() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        partyRollupService.clear();
+        log.info("참조 데이터 캐시 전체 무효화");
+        prewarm();
+    }
+
+    /**
+     * 특정 캐시 무효화
+     */
+    public void evict(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new CustomException("존재하지 않는 캐시입니다: " + cacheName, HttpStatus.NOT_FOUND);
+        }
+        cache.clear();
+        partyRollupService.clear();
+        log.info("참조 데이터 캐시 무효화: {}", cacheName);
+    }
+
+    public List<String> getCacheNames() {
+        return List.copyOf(cacheManager.getCacheNames());
+    }
+}
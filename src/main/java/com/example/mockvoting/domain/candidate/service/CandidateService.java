@@ -1,10 +1,12 @@
 package com.example.mockvoting.domain.candidate.service;
 
+import com.example.mockvoting.config.CacheConfig;
 import com.example.mockvoting.domain.candidate.entity.Candidate;
 import com.example.mockvoting.domain.candidate.entity.Policy;
 import com.example.mockvoting.domain.candidate.mapper.CandidateMapper;
 import com.example.mockvoting.domain.candidate.mapper.PolicyMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,10 +20,12 @@ public class CandidateService {
     @Autowired
     private PolicyMapper policymapper;
 
+    @Cacheable(CacheConfig.CANDIDATES)
     public List<Candidate> getCandidatesBySgId(String sgId) {
     return candidatemapper.findCandidatesBySgId(sgId);
     }
 
+    @Cacheable(CacheConfig.CANDIDATE_POLICIES)
     public List<Policy> getPolicy(String sgId, String partyName){
         return policymapper.findAllPolicy(sgId,partyName);
     }
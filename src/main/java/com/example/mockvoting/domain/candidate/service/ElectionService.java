@@ -1,8 +1,10 @@
 package com.example.mockvoting.domain.candidate.service;
 
+import com.example.mockvoting.config.CacheConfig;
 import com.example.mockvoting.domain.candidate.entity.Election;
 import com.example.mockvoting.domain.candidate.mapper.ElectionMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,6 +14,7 @@ public class ElectionService {
     @Autowired
     private ElectionMapper electionMapper;
 
+    @Cacheable(CacheConfig.ELECTIONS)
     public List<Election> findAllElections() {
         return electionMapper.findAllElections();
     }
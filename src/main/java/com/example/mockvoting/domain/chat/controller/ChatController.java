@@ -3,58 +3,55 @@ package com.example.mockvoting.domain.chat.controller;
 import com.example.mockvoting.domain.chat.entity.ChatMessage;
 import com.example.mockvoting.domain.chat.entity.Membership;
 import com.example.mockvoting.domain.chat.repository.MembershipRepository;
+import com.example.mockvoting.domain.chat.service.ChatModerationService;
+import com.example.mockvoting.domain.chat.service.ChatPresenceService;
 import com.example.mockvoting.domain.chat.service.ChatService;
-import com.example.mockvoting.domain.chat.service.MembershipService;
-import com.example.mockvoting.domain.user.dto.UserResponseDTO;
-import com.example.mockvoting.domain.user.entity.User;
-import com.example.mockvoting.domain.user.service.UserService;
+import com.example.mockvoting.domain.chat.service.ChatUnreadService;
 import com.example.mockvoting.util.JwtUtil;
-import org.mybatis.logging.Logger;
-import org.mybatis.logging.LoggerFactory;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Controller
 public class ChatController {
 
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    private ChatModerationService chatModerationService;
+
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
     @Autowired
     private JwtUtil jwtUtil;
 
-    //  추후 삭제 : 로깅용 코드
-    private static final Logger logger = LoggerFactory.getLogger(ChatController.class);
-
     @Autowired
-    private UserService userService;
+    private ChatPresenceService chatPresenceService;
 
     @Autowired
-    private MembershipService membershipService;
+    private MembershipRepository membershipRepository;
 
     @Autowired
-    private MembershipRepository membershipRepository;
+    private ChatUnreadService chatUnreadService;
 
     // STOMP를 통해 메시지 수신 시 처리
     @MessageMapping("/chat.send/{roomId}")
     public void sendMessage(@DestinationVariable int roomId, ChatMessage chatMessage) {
-        // 로그 추가
-        System.out.println("채팅방 ID: " + roomId + ", 메시지 수신: " + chatMessage.getContent() + ", 보낸이: " + chatMessage.getSender_nickname());
-
         // 채팅방 ID 설정
         chatMessage.setChatroomId(roomId);
 
@@ -63,17 +60,8 @@ public class ChatController {
             chatMessage.setSentAt(new Date());
         }
 
-        // 비속어 감지 및 필터링
-        System.out.println("비속어 감지 메서드 호출 직전...");
-        //테스트용
-        boolean containsProfanity = false;
-        try {
-            containsProfanity = chatService.checkAndFilterProfanity(chatMessage);
-            System.out.println("비속어 감지 결과: " + containsProfanity);
-        } catch (Exception e) {
-            System.err.println("비속어 감지 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // 로컬 비속어 목록으로 한 번만 감지 및 필터링 (외부 API 호출 없음)
+        boolean containsProfanity = chatService.filterLocalProfanity(chatMessage);
 
         // 필요한 경우 비속어 감지 결과에 따라 다른 처리 가능
         if (containsProfanity) {
@@ -96,6 +84,11 @@ public class ChatController {
 
         // 지정된 채팅방 구독자들에게 메시지 브로드캐스트
         messagingTemplate.convertAndSend("/topic/chat/" + roomId, savedMessage);
+
+        // Perspective API 판정은 전송 이후 비동기로 적용 (독성 판정 시 redaction 이벤트 전송)
+        if (!containsProfanity) {
+            chatModerationService.moderateAsync(savedMessage);
+        }
     }
 
 
@@ -108,14 +101,18 @@ public class ChatController {
 
     // 사용자 채팅방 참여 처리
     @MessageMapping("/chat.join/{roomId}")
-    public void handleJoin(@DestinationVariable int roomId, @Payload Map<String, String> payload) {
+    public void handleJoin(@DestinationVariable int roomId, @Payload Map<String, String> payload,
+                           SimpMessageHeaderAccessor headerAccessor) {
         String userId = payload.get("userId");
         String nickname = payload.get("nickname");
 
-        System.out.println("사용자 채팅방 참여: userId = " + userId + ", nickname = " + nickname + ", roomId = " + roomId);
+        log.debug("사용자 채팅방 참여: userId={}, nickname={}, roomId={}", userId, nickname, roomId);
 
         // 멤버십 생성 또는 업데이트
-        createOrUpdateMembership(userId,roomId);
+        Membership membership = createOrUpdateMembership(userId,roomId);
+
+        // 읽음 커서 생성 (참여 이전 메시지는 안 읽은 메시지로 세지 않음)
+        chatUnreadService.startTracking(roomId, userId);
 
         // 참여 메시지 생성
         Map<String, Object> chatMessage = new HashMap<>();
@@ -139,20 +136,22 @@ public class ChatController {
         // 모든 참여자에게 참여 메시지 전송
         messagingTemplate.convertAndSend("/topic/chat/" + roomId, chatMessage);
 
-        // 최신 참여자 목록 전송
-        sendParticipantsList(roomId);
+        // 접속자 등록 (참여 변경분만 전송)
+        chatPresenceService.join(headerAccessor.getSessionId(), roomId, userId, membership.isRole());
     }
 
     // 사용자 채팅방 퇴장 처리
     @MessageMapping("/chat.leave/{roomId}")
-    public void handleLeave(@DestinationVariable int roomId, @Payload Map<String, String> payload) {
+    public void handleLeave(@DestinationVariable int roomId, @Payload Map<String, String> payload,
+                            SimpMessageHeaderAccessor headerAccessor) {
         String userId = payload.get("userId");
         String nickname = payload.get("nickname");
 
-        System.out.println("사용자 채팅방 퇴장: userId = " + userId + ", roomId = " + roomId);
+        log.debug("사용자 채팅방 퇴장: userId={}, roomId={}", userId, roomId);
 
         // 멤버십 삭제
         removeMembership(userId, roomId);
+        chatUnreadService.stopTracking(roomId, userId);
 
         // 퇴장 메시지 생성
         Map<String, Object> chatMessage = new HashMap<>();
@@ -175,79 +174,45 @@ public class ChatController {
         // 모든 참여자에게 퇴장 메시지 전송
         messagingTemplate.convertAndSend("/topic/chat/" + roomId, chatMessage);
 
-        // 최신 참여자 목록 전송
-        sendParticipantsList(roomId);
-    }
-
-    // 전체 참여자 목록 전송
-    private void sendParticipantsList(int roomId) {
-        List<Map<String, Object>> participants = getParticipantsList(roomId);
-
-        Map<String, Object> message = new HashMap<>();
-        message.put("type", "participants_list");
-        message.put("participants", participants);
-        message.put("timestamp", new Date());
-
-        messagingTemplate.convertAndSend("/topic/participants/" + roomId, message);
+        // 접속자 해제 (퇴장 변경분만 전송)
+        chatPresenceService.leave(headerAccessor.getSessionId(), roomId, userId);
     }
 
     // 채팅방 참여자 목록 조회 API
     @GetMapping("/api/chat/participants/{roomId}")
     public ResponseEntity<List<Map<String, Object>>> getParticipants(@PathVariable int roomId){
-        List<Map<String, Object>> participants = getParticipantsList(roomId);
-        return ResponseEntity.ok(participants);
+        return ResponseEntity.ok(chatPresenceService.getParticipants(roomId));
     }
 
-    // 참여자 목록 조회 공통 메서드
-    public List<Map<String, Object>> getParticipantsList(int roomId) {
-
-        // 채팅방 멤버십 정보 조회
-        List<Membership> memberships = membershipService.findByChatroomId(roomId);
-
-        // 채팅방 멤버십 정보에서 사용자 목록 조회
-        return memberships.stream()
-                .map(membership -> {
-                    // 사용자 정보 조회
-                    Optional<UserResponseDTO> userResponseDTO = userService.getUserInfo(membership.getUserId());
-
-                    if(userResponseDTO.isPresent()) {
-                        UserResponseDTO userDto = userResponseDTO.get();
-
-                        // Optional에서 값을 추출할 때, 값이 없으면 처리할 방법을 정의
-                        Map<String, Object> participant = new HashMap<>();
-                        participant.put("id", userDto.getUserId());
-                        participant.put("nickname", userDto.getNickname());
-                        participant.put("role", membership.isRole() ? "admin" : "user");
-
-                        return participant;
-                    }else {
-                        // 사용자 정보가 없을 경우 예외 처리하거나 기본값 설정
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull) // null 값 제외
-                .collect(Collectors.toList());
+    // /app/participants/{roomId} 구독 시 현재 참여자 목록을 한 번 전송 (이후 변경분은 /topic/participants/{roomId})
+    @SubscribeMapping("/participants/{roomId}")
+    public Map<String, Object> subscribeParticipants(@DestinationVariable int roomId) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "participants_list");
+        message.put("participants", chatPresenceService.getParticipants(roomId));
+        message.put("timestamp", new Date());
+        return message;
     }
 
     // 멤버십 생성 또는 업데이트
-    private void createOrUpdateMembership(String userId, int roomId) {
+    private Membership createOrUpdateMembership(String userId, int roomId) {
         // 먼저 기존 멤버십 확인
         Optional<Membership> existingMembership = membershipRepository.findByUserIdAndChatroomId(userId, roomId);
 
         if(existingMembership.isPresent()) {
-            System.out.println("기존 멤버십 존재: userId = " + userId + ", chatroomId = " + roomId);
-        } else {
-            // 새 멤버십 생성
-            Membership membership = Membership.builder()
-                    .userId(userId)
-                    .chatroomId(roomId)
-                    .role(false) //일반 사용자
-                    .joinedAt(new java.sql.Date(System.currentTimeMillis()))
-                    .build();
-
-            membershipRepository.save(membership);
-            System.out.println("새 멤버십 생성됨: userId = " + userId + ", chatroomId = " + roomId);
+            return existingMembership.get();
         }
+
+        // 새 멤버십 생성
+        Membership membership = Membership.builder()
+                .userId(userId)
+                .chatroomId(roomId)
+                .role(false) //일반 사용자
+                .joinedAt(new java.sql.Date(System.currentTimeMillis()))
+                .build();
+
+        log.debug("새 멤버십 생성됨: userId={}, chatroomId={}", userId, roomId);
+        return membershipRepository.save(membership);
     }
 
     // 멤버십 삭제
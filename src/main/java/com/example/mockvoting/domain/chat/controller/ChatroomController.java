@@ -1,14 +1,19 @@
 package com.example.mockvoting.domain.chat.controller;
 
+import com.example.mockvoting.domain.chat.dto.UnreadCountDTO;
 import com.example.mockvoting.domain.chat.entity.ChatMessage;
 import com.example.mockvoting.domain.chat.entity.Chatroom;
 import com.example.mockvoting.domain.chat.repository.ChatroomRepository;
 import com.example.mockvoting.domain.chat.service.ChatService;
+import com.example.mockvoting.domain.chat.service.ChatUnreadService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -23,18 +28,46 @@ public class ChatroomController {
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    private ChatUnreadService chatUnreadService;
+
     // 모든 채팅방 조회
     @GetMapping("/rooms")
     public List<Chatroom> getAllChatrooms() {
         return chatroomRepository.findAll();
     }
 
-    // 특정 채팅방 기록 조회
+    // 특정 채팅방 기록 조회 (before: 이 메시지 ID 이전 기록, 스크롤 시 사용)
     @GetMapping("/history/{roomId}")
-    public ResponseEntity<List<ChatMessage>> getChatroomMessages(@PathVariable int roomId) {
+    public ResponseEntity<List<ChatMessage>> getChatroomMessages(@PathVariable int roomId,
+                                                                 @RequestParam(required = false) String before,
+                                                                 @RequestParam(defaultValue = "50") int limit) {
         // ChatService에 이미 구현된 메서드 활용
-        List<ChatMessage> messages = chatService.getChatHistory(roomId);
+        List<ChatMessage> messages = chatService.getChatHistory(roomId, before, limit);
         return ResponseEntity.ok(messages);
     }
 
+    // 참여 중인 모든 채팅방의 안 읽은 메시지 수 (이후 변경은 /topic/unread/{roomId} 의 최신 순번으로 계산)
+    @GetMapping("/unread")
+    public ResponseEntity<List<UnreadCountDTO>> getUnreadCounts(HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        return ResponseEntity.ok(chatUnreadService.getUnreadCounts(userId));
+    }
+
+    // 특정 채팅방 안 읽은 메시지 수 (참여하지 않은 채팅방이면 404)
+    @GetMapping("/unread/{roomId}")
+    public ResponseEntity<UnreadCountDTO> getUnreadCount(@PathVariable int roomId, HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        return ResponseEntity.ok(chatUnreadService.getUnreadCount(roomId, userId));
+    }
+
+    // 읽음 처리 (seq: 마지막으로 읽은 메시지 순번, 생략 시 최신 메시지까지 / 참여하지 않은 채팅방이면 404)
+    @PostMapping("/read/{roomId}")
+    public ResponseEntity<UnreadCountDTO> markRead(@PathVariable int roomId,
+                                                   @RequestParam(required = false) Long seq,
+                                                   HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        return ResponseEntity.ok(chatUnreadService.markRead(roomId, userId, seq));
+    }
+
 }
@@ -25,5 +25,6 @@ public class ChatMessageDTO {
     private int chatroomId;
     private String userId;
     private String sender_nickname;
+    private long seq;
 
 }
@@ -4,16 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "unread_count")
 public class UnreadCountDTO {
-    private int id;
-    private int messageId;
-    private String userId;
     private int chatroomId;
+    private long lastReadSeq;   // 마지막으로 읽은 메시지 순번
+    private long latestSeq;     // 채팅방 최신 메시지 순번
+    private long unreadCount;
 }
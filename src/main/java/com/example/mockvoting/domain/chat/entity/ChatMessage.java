@@ -23,5 +23,6 @@ public class ChatMessage {
     private int chatroomId;
     private String userId;
     private String sender_nickname;
+    private long seq; // 채팅방 내 메시지 순번 (안 읽은 메시지 수 계산 기준)
 
 }
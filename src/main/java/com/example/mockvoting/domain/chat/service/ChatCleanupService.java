@@ -2,16 +2,39 @@ package com.example.mockvoting.domain.chat.service;
 
 import com.example.mockvoting.domain.chat.entity.ChatMessage;
 import com.example.mockvoting.domain.chat.repository.ChatroomRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 채팅방별 메시지 보관 기간/개수 유지
+ * - 보관 기간(chat.retention.max-age-days)이 지난 메시지와, 채팅방별 최신 N개(chat.retention.max-messages-per-room)를
+ *   넘는 메시지를 삭제한다. 기본값은 30일, 5000개로 짧은 정리 주기에도 최근 대화가 지워지지 않게 한다.
+ * - 채팅방마다 최신 N번째 메시지의 sentAt 과 보관 기간 기준 시각 중 늦은 쪽을 기준점으로 잡고,
+ *   그보다 오래된 메시지를 deleteMany 한 번으로 삭제한다.
+ * - (chatroomId, sentAt) 복합 인덱스를 시작 시 생성하므로 기준점 조회와 범위 삭제 모두 인덱스를 탄다.
+ * - 하루 한 번이 아니라 짧은 주기로 실행하며, 채팅방은 제한된 동시성으로 병렬 처리한다.
+ */
+@Slf4j
 @Service
 public class ChatCleanupService {
 
@@ -19,13 +42,43 @@ public class ChatCleanupService {
     private ChatroomRepository chatroomRepository;
 
     @Autowired
-    private MongoTemplate mongoTemplate; // MongoTemplate 추가
+    private MongoTemplate mongoTemplate;
 
     // 채팅방별 최대 메시지 수
-    private static final int MAX_MESSAGES_PER_ROOM = 50;
+    @Value("${chat.retention.max-messages-per-room:5000}")
+    private int maxMessagesPerRoom;
 
-    // 매일 자정에 실행
-    @Scheduled(cron = "0 0 0 * * ?")
+    // 메시지 보관 기간 (0 이하면 개수로만 정리)
+    @Value("${chat.retention.max-age-days:30}")
+    private int maxAgeDays;
+
+    @Value("${chat.retention.cleanup-concurrency:4}")
+    private int cleanupConcurrency;
+
+    private ExecutorService cleanupExecutor;
+
+    @PostConstruct
+    public void init() {
+        mongoTemplate.indexOps(ChatMessage.class)
+                .ensureIndex(new Index()
+                        .on("chatroomId", Sort.Direction.ASC)
+                        .on("sentAt", Sort.Direction.DESC)
+                        .named("chatroomId_sentAt"));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        cleanupExecutor = Executors.newFixedThreadPool(cleanupConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "chat-cleanup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupExecutor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.retention.cleanup-interval-ms:300000}")
     public void cleanupMessages() {
         try {
             // 모든 채팅방 ID 조회
@@ -33,44 +86,49 @@ public class ChatCleanupService {
                     .map(room -> room.getId())
                     .toList();
 
-            // 각 채팅방별로 정리
-            for (Integer chatroomId : chatroomIds) {
-                try {
-                    // MongoDB에서 직접 카운트 쿼리 실행
-                    Query countQuery = new Query(Criteria.where("chatroomId").is(chatroomId));
-                    long count = mongoTemplate.count(countQuery, ChatMessage.class, "chat_message");
-
-                    // 최대 개수를 초과하면 오래된 메시지 삭제
-                    if (count > MAX_MESSAGES_PER_ROOM) {
-                        // 삭제할 개수 계산
-                        long deleteCount = count - MAX_MESSAGES_PER_ROOM;
-
-                        // 오래된 메시지부터 조회
-                        Query query = new Query(Criteria.where("chatroomId").is(chatroomId))
-                                .with(Sort.by(Sort.Direction.ASC, "sentAt"))
-                                .limit((int) deleteCount);
-
-                        List<ChatMessage> oldestMessages = mongoTemplate.find(query, ChatMessage.class, "chat_message");
-
-                        if (!oldestMessages.isEmpty()) {
-                            // 개별 삭제 (일괄 삭제가 작동하지 않을 경우)
-                            for (ChatMessage msg : oldestMessages) {
-                                try {
-                                    mongoTemplate.remove(msg, "chat_message");
-                                } catch (Exception e) {
-                                    System.err.println("메시지 삭제 실패: " + msg.getId() + " - " + e.getMessage());
-                                }
-                            }
-                            System.out.println("채팅방 " + chatroomId + "에서 " + oldestMessages.size() + "개의 오래된 메시지 삭제 시도 완료");
-                        }
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+            AtomicLong deleted = new AtomicLong();
+            CompletableFuture<?>[] tasks = chatroomIds.stream()
+                    .map(chatroomId -> CompletableFuture.runAsync(
+                            () -> deleted.addAndGet(trimRoom(chatroomId)), cleanupExecutor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(tasks).join();
+
+            if (deleted.get() > 0) {
+                log.info("채팅 메시지 정리 완료: 채팅방={}, 삭제={}", chatroomIds.size(), deleted.get());
             }
         } catch (Exception e) {
-            System.err.println("메시지 정리 작업 전체 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("메시지 정리 작업 전체 오류", e);
+        }
+    }
+
+    // 보관 기간이 지났거나 최신 maxMessagesPerRoom 개보다 오래된 메시지를 한 번에 삭제
+    private long trimRoom(Integer chatroomId) {
+        try {
+            Date cutoff = maxAgeDays > 0
+                    ? Date.from(Instant.now().minus(maxAgeDays, ChronoUnit.DAYS))
+                    : null;
+
+            Query boundaryQuery = new Query(Criteria.where("chatroomId").is(chatroomId))
+                    .with(Sort.by(Sort.Direction.DESC, "sentAt"))
+                    .skip(maxMessagesPerRoom - 1L)
+                    .limit(1);
+            boundaryQuery.fields().include("sentAt");
+
+            ChatMessage boundary = mongoTemplate.findOne(boundaryQuery, ChatMessage.class);
+            if (boundary != null && boundary.getSentAt() != null
+                    && (cutoff == null || boundary.getSentAt().after(cutoff))) {
+                cutoff = boundary.getSentAt();
+            }
+            if (cutoff == null) {
+                return 0;
+            }
+
+            Query deleteQuery = new Query(Criteria.where("chatroomId").is(chatroomId)
+                    .and("sentAt").lt(cutoff));
+            return mongoTemplate.remove(deleteQuery, ChatMessage.class).getDeletedCount();
+        } catch (Exception e) {
+            log.error("채팅방 메시지 정리 실패: chatroomId={}", chatroomId, e);
+            return 0;
         }
     }
 }
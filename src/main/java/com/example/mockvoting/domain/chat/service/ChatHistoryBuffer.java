@@ -0,0 +1,210 @@
+package com.example.mockvoting.domain.chat.service;
+
+import com.example.mockvoting.domain.chat.entity.ChatMessage;
+import com.example.mockvoting.exception.CustomException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼
+ * - 전송 경로에서 저장된 메시지를 바로 추가하므로 채팅방 입장 시 Mongo 를 조회하지 않는다.
+ * - 처음 조회되는 채팅방(또는 LRU 로 밀려난 채팅방)만 Mongo 에서 최근 메시지를 적재한다.
+ * - 버퍼보다 오래된 구간은 before 커서로 Mongo 에서 조회한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatHistoryBuffer {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${chat.history.buffer-size:50}")
+    private int bufferSize;
+
+    @Value("${chat.history.max-rooms:500}")
+    private int maxRooms;
+
+    // 채팅방 ID → 최근 메시지 (LRU)
+    private final Map<Integer, RoomHistory> rooms = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, RoomHistory> eldest) {
+                    return size() > maxRooms;
+                }
+            });
+
+    /**
+     * 저장된 메시지 추가
+     */
+    public void append(ChatMessage message) {
+        rooms.computeIfAbsent(message.getChatroomId(), id -> new RoomHistory())
+                .add(message, bufferSize);
+    }
+
+    /**
+     * 버퍼에 있는 메시지 내용 변경 (다른 인스턴스의 사후 필터링 반영)
+     */
+    public void updateContent(int chatroomId, String messageId, String content) {
+        RoomHistory history = rooms.get(chatroomId);
+        if (history == null) {
+            return;
+        }
+        ChatMessage message = history.find(messageId);
+        if (message != null) {
+            message.setContent(content);
+        }
+    }
+
+    /**
+     * 메시지 목록 조회 (오래된 순)
+     * @param before 이 메시지보다 이전 메시지만 조회 (null 이면 최신 메시지부터)
+     */
+    public List<ChatMessage> getMessages(int chatroomId, String before, int limit) {
+        RoomHistory history = rooms.computeIfAbsent(chatroomId, id -> new RoomHistory());
+        if (!history.isLoaded()) {
+            history.load(findFromMongo(chatroomId, null, bufferSize), bufferSize);
+            log.debug("채팅 기록 버퍼 적재: chatroomId={}", chatroomId);
+        }
+
+        List<ChatMessage> page = history.page(before, limit);
+        if (page != null) {
+            return page;
+        }
+
+        // 버퍼에 없는 구간은 Mongo 에서 조회
+        ChatMessage cursor = null;
+        if (before != null) {
+            cursor = history.find(before);
+            if (cursor == null) {
+                cursor = mongoTemplate.findById(toObjectId(before), ChatMessage.class);
+            }
+            if (cursor == null) {
+                return List.of();
+            }
+        }
+        return findFromMongo(chatroomId, cursor, limit);
+    }
+
+    // cursor 보다 이전 메시지를 최대 limit 개 조회 (오래된 순)
+    private List<ChatMessage> findFromMongo(int chatroomId, ChatMessage cursor, int limit) {
+        Criteria criteria = Criteria.where("chatroomId").is(chatroomId);
+        if (cursor != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("sentAt").lt(cursor.getSentAt()),
+                    Criteria.where("sentAt").is(cursor.getSentAt()).and("_id").lt(toObjectId(cursor.getId())));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "sentAt", "_id"))
+                .limit(limit);
+        List<ChatMessage> messages = new ArrayList<>(mongoTemplate.find(query, ChatMessage.class));
+        Collections.reverse(messages); // 시간순 정렬
+        return messages;
+    }
+
+    private ObjectId toObjectId(String id) {
+        if (!ObjectId.isValid(id)) {
+            throw new CustomException("잘못된 메시지 커서입니다.");
+        }
+        return new ObjectId(id);
+    }
+
+    private static class RoomHistory {
+        // 오래된 순
+        private final ArrayDeque<ChatMessage> messages = new ArrayDeque<>();
+        private boolean loaded;
+        // 버퍼가 채팅방의 가장 오래된 메시지까지 포함하는지 여부
+        private boolean complete;
+
+        private synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        private synchronized void add(ChatMessage message, int capacity) {
+            messages.addLast(message);
+            trim(capacity);
+        }
+
+        // Mongo 에서 읽은 메시지 앞에 적재 중 추가된 메시지를 이어 붙임 (아직 반영 전인 메시지 포함)
+        private synchronized void load(List<ChatMessage> stored, int capacity) {
+            if (loaded) {
+                return;
+            }
+
+            Set<String> storedIds = new HashSet<>();
+            stored.forEach(message -> storedIds.add(message.getId()));
+
+            List<ChatMessage> appended = new ArrayList<>(messages);
+            messages.clear();
+            messages.addAll(stored);
+            for (ChatMessage message : appended) {
+                if (!storedIds.contains(message.getId())) {
+                    messages.addLast(message);
+                }
+            }
+
+            complete = stored.size() < capacity;
+            loaded = true;
+            trim(capacity);
+        }
+
+        // 버퍼만으로 응답할 수 없으면 null
+        private synchronized List<ChatMessage> page(String before, int limit) {
+            List<ChatMessage> list = new ArrayList<>(messages);
+            int end = list.size();
+            if (before != null) {
+                end = indexOf(list, before);
+                if (end < 0) {
+                    return null;
+                }
+            }
+
+            int start = Math.max(0, end - limit);
+            if (end - start < limit && !complete) {
+                return null;
+            }
+            return new ArrayList<>(list.subList(start, end));
+        }
+
+        private synchronized ChatMessage find(String id) {
+            for (ChatMessage message : messages) {
+                if (id.equals(message.getId())) {
+                    return message;
+                }
+            }
+            return null;
+        }
+
+        private void trim(int capacity) {
+            while (messages.size() > capacity) {
+                messages.removeFirst();
+                complete = false;
+            }
+        }
+
+        private static int indexOf(List<ChatMessage> list, String id) {
+            for (int i = list.size() - 1; i >= 0; i--) {
+                if (id.equals(list.get(i).getId())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.mockvoting.domain.chat.service;
+
+import com.example.mockvoting.domain.chat.entity.ChatMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * 인스턴스 간 채팅 기록 버퍼 동기화 (chat.broker.mode=redis)
+ * - 메시지 저장과 사후 필터링을 Redis 채널로 다른 인스턴스에 알려 각 인스턴스의 ChatHistoryBuffer 에 반영한다.
+ * - 브로커 전파(RedisBrokerFanout)와 달리 저장된 ChatMessage 자체를 보내므로 ID/순번이 없는 시스템 알림과 섞이지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class ChatHistoryRelay implements MessageListener {
+
+    private static final String CHANNEL = "chat:history";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final ChatHistoryBuffer chatHistoryBuffer;
+
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        container.destroy();
+    }
+
+    /**
+     * 저장된 메시지 전파
+     */
+    public void publishAppend(ChatMessage message) {
+        ObjectNode envelope = envelope("append");
+        envelope.set("message", objectMapper.valueToTree(message));
+        send(envelope);
+    }
+
+    /**
+     * 메시지 내용 변경 전파 (사후 필터링)
+     */
+    public void publishUpdate(ChatMessage message, String content) {
+        ObjectNode envelope = envelope("update");
+        envelope.put("chatroomId", message.getChatroomId());
+        envelope.put("messageId", message.getId());
+        envelope.put("content", content);
+        send(envelope);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode envelope = objectMapper.readTree(message.getBody());
+            if (instanceId.equals(envelope.path("origin").asText())) {
+                return;
+            }
+
+            if ("append".equals(envelope.path("type").asText())) {
+                chatHistoryBuffer.append(objectMapper.treeToValue(envelope.get("message"), ChatMessage.class));
+            } else if ("update".equals(envelope.path("type").asText())) {
+                chatHistoryBuffer.updateContent(envelope.path("chatroomId").asInt(),
+                        envelope.path("messageId").asText(), envelope.path("content").asText());
+            }
+        } catch (Exception e) {
+            log.error("채팅 기록 동기화 메시지 처리 실패", e);
+        }
+    }
+
+    private ObjectNode envelope(String type) {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("origin", instanceId);
+        envelope.put("type", type);
+        return envelope;
+    }
+
+    private void send(ObjectNode envelope) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // 다른 인스턴스 버퍼는 LRU 로 밀려나거나 재시작되면 Mongo 에서 다시 적재됨
+            log.error("채팅 기록 동기화 전파 실패: type={}", envelope.path("type").asText(), e);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.mockvoting.domain.chat.service;
+
+import com.example.mockvoting.domain.chat.entity.ChatMessage;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지 write-behind 저장소
+ * - 메시지는 ObjectId 를 미리 부여받아 로컬 추가 전용 파일(segment)에 기록된 뒤 채팅방별 버퍼에 쌓인다.
+ * - 버퍼는 크기 또는 주기 조건으로 chat_message 에 bulk insert 되며, 브로드캐스트는 Mongo 왕복을 기다리지 않는다.
+ * - 모든 버퍼가 반영된 뒤에만 지난 segment 를 삭제하고, 재시작 시 남은 segment 를 다시 적재한다.
+ *   이미 저장된 메시지는 _id 중복으로 무시되므로 같은 항목을 다시 반영해도 안전하다.
+ * - 내용 변경(사후 필터링)도 segment 에 기록하고 메시지 반영 뒤에 적용하므로, 재적재 시 변경 전 내용으로 되돌아가지 않는다.
+ * - Mongo 가 거부한 메시지(중복 외 쓰기 오류)는 dead-letter 파일로 옮겨 다른 segment 정리를 막지 않게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatJournal {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+    private static final String UPDATE_OP = "update";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Value("${chat.journal.enabled:true}")
+    private boolean enabled;
+
+    // 재시작 후에도 남아 있어야 하므로 임시 디렉터리가 아닌 경로 사용 (README 로컬 데이터 디렉터리 참고)
+    @Value("${chat.journal.dir:${user.dir}/data/chat-journal}")
+    private String directory;
+
+    // 채팅방 버퍼가 이 크기에 도달하면 주기를 기다리지 않고 반영
+    @Value("${chat.journal.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.journal.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    // 메시지마다 디스크 동기화 여부 (false 면 OS 캐시까지만 기록, 프로세스 비정상 종료에는 안전)
+    @Value("${chat.journal.fsync:false}")
+    private boolean fsync;
+
+    // 채팅방 ID → 미반영 메시지
+    private final ConcurrentHashMap<Integer, RoomBuffer> buffers = new ConcurrentHashMap<>();
+    private final Set<Integer> flushRequested = ConcurrentHashMap.newKeySet();
+    // segment 에 기록되었고 메시지 반영 뒤 Mongo 에 적용할 내용 변경 (this 로 보호)
+    private final List<ContentUpdate> pendingUpdates = new ArrayList<>();
+    // 기록이 끝나 반영 완료를 기다리는 segment (worker 스레드에서만 접근)
+    private final List<Path> sealedSegments = new ArrayList<>();
+
+    private ScheduledExecutorService worker;
+    private Path segmentDir;
+    private long segmentSeq;
+    // 현재 기록 중인 segment (this 로 보호)
+    private Path segmentPath;
+    private FileChannel segment;
+    private long segmentBytes;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException("chat.journal.dir 가 설정되지 않았습니다. "
+                    + "재시작 후에도 유지되는 경로를 지정하거나 chat.journal.enabled=false 로 설정하세요.");
+        }
+        segmentDir = Paths.get(directory);
+        Files.createDirectories(segmentDir);
+        log.info("채팅 저널 경로: {}", segmentDir.toAbsolutePath());
+        segmentSeq = System.currentTimeMillis();
+        loadSpilledSegments();
+        openSegment();
+
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+        log.info("애플리케이션 종료 전 채팅 메시지 반영");
+        flushAll();
+
+        synchronized (this) {
+            try {
+                segment.close();
+                if (segmentBytes == 0) {
+                    Files.deleteIfExists(segmentPath);
+                }
+            } catch (IOException e) {
+                log.warn("채팅 저널 segment 닫기 실패: {}", segmentPath, e);
+            }
+        }
+    }
+
+    /**
+     * 메시지 기록 (ID 가 없으면 ObjectId 를 미리 부여)
+     * - 로컬 segment 에 기록되면 즉시 반환하고, Mongo 반영은 비동기로 처리한다.
+     */
+    public ChatMessage append(ChatMessage message) {
+        if (message.getId() == null) {
+            message.setId(new ObjectId().toHexString());
+        }
+        if (!enabled) {
+            return mongoTemplate.insert(message);
+        }
+
+        RoomBuffer buffer = buffers.computeIfAbsent(message.getChatroomId(), id -> new RoomBuffer());
+        try {
+            byte[] line = (objectMapper.writeValueAsString(message) + "\n").getBytes(StandardCharsets.UTF_8);
+            synchronized (this) {
+                writeLine(line);
+                buffer.add(message);
+            }
+        } catch (IOException e) {
+            log.error("채팅 저널 기록 실패, 직접 저장: messageId={}", message.getId(), e);
+            return mongoTemplate.insert(message);
+        }
+
+        int roomId = message.getChatroomId();
+        if (buffer.size.get() >= batchSize && flushRequested.add(roomId)) {
+            worker.execute(() -> {
+                flushRequested.remove(roomId);
+                flushRoom(roomId);
+            });
+        }
+        return message;
+    }
+
+    /**
+     * 메시지 내용 변경 (사후 필터링 등)
+     * - 변경 기록을 segment 에 남기고, Mongo 에는 다음 반영 주기에 메시지 반영이 끝난 뒤 적용한다.
+     * - 변경 기록이 있는 segment 는 적용이 끝나기 전에 삭제되지 않으므로 재적재 시 변경 전 내용으로 되돌아가지 않는다.
+     */
+    public void updateContent(ChatMessage message, String content) {
+        ContentUpdate update = new ContentUpdate(UPDATE_OP, message.getId(), message.getChatroomId(), content);
+        message.setContent(content);
+        if (!enabled) {
+            applyUpdate(update);
+            return;
+        }
+
+        try {
+            byte[] line = (objectMapper.writeValueAsString(update) + "\n").getBytes(StandardCharsets.UTF_8);
+            synchronized (this) {
+                writeLine(line);
+                pendingUpdates.add(update);
+            }
+        } catch (IOException e) {
+            log.error("채팅 저널 내용 변경 기록 실패, 직접 적용: messageId={}", message.getId(), e);
+            worker.execute(() -> applyUpdate(update));
+        }
+    }
+
+    // 현재 segment 에 한 줄 기록 (this 잠금 안에서 호출)
+    private void writeLine(byte[] line) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(line);
+        while (bytes.hasRemaining()) {
+            segment.write(bytes);
+        }
+        if (fsync) {
+            segment.force(false);
+        }
+        segmentBytes += line.length;
+    }
+
+    // 모든 채팅방 버퍼 반영 후 지난 segment 정리 (worker 스레드)
+    private void flushAll() {
+        try {
+            // segment 를 닫는 시점까지 기록된 내용 변경만 이번 주기에 적용
+            List<ContentUpdate> updates;
+            synchronized (this) {
+                if (segmentBytes > 0) {
+                    segment.close();
+                    sealedSegments.add(segmentPath);
+                    openSegment();
+                }
+                updates = new ArrayList<>(pendingUpdates);
+                pendingUpdates.clear();
+            }
+
+            boolean flushed = true;
+            for (Integer roomId : buffers.keySet()) {
+                flushed &= flushRoom(roomId);
+            }
+            flushed &= applyUpdates(updates);
+
+            if (flushed && !sealedSegments.isEmpty()) {
+                for (Path sealed : sealedSegments) {
+                    Files.deleteIfExists(sealed);
+                }
+                sealedSegments.clear();
+            }
+        } catch (Exception e) {
+            log.error("채팅 메시지 반영 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    // 채팅방 버퍼를 batchSize 단위로 모두 반영
+    private boolean flushRoom(Integer roomId) {
+        RoomBuffer buffer = buffers.get(roomId);
+        if (buffer == null) {
+            return true;
+        }
+
+        while (true) {
+            List<ChatMessage> batch = buffer.drain(batchSize);
+            if (batch.isEmpty()) {
+                return true;
+            }
+            try {
+                insertBatch(batch);
+                log.debug("채팅 메시지 반영 완료: roomId={}, 건수={}", roomId, batch.size());
+            } catch (Exception e) {
+                log.error("채팅 메시지 반영 실패, 다음 주기에 재시도: roomId={}, 건수={}", roomId, batch.size(), e);
+                buffer.requeue(batch);
+                return false;
+            }
+        }
+    }
+
+    private void insertBatch(List<ChatMessage> batch) throws IOException {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class)
+                    .insert(batch)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // 재적재 등으로 이미 저장된 메시지는 무시하고, 그 외 쓰기 오류는 다시 시도해도 같은 결과이므로 dead-letter 로 옮김
+            // (UNORDERED 이므로 오류가 없는 메시지는 이미 저장됨, 연결 오류 등은 BulkOperationException 이 아니어서 재시도)
+            List<ChatMessage> rejected = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    rejected.add(batch.get(error.getIndex()));
+                    log.error("채팅 메시지 저장 거부, dead-letter 로 이동: messageId={}, code={}, message={}",
+                            batch.get(error.getIndex()).getId(), error.getCode(), error.getMessage());
+                }
+            }
+            if (!rejected.isEmpty()) {
+                writeDeadLetters(rejected);
+            }
+        }
+    }
+
+    // 저장이 거부된 메시지를 dead-letter 파일에 보관 (수동 확인용)
+    private void writeDeadLetters(List<ChatMessage> rejected) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (ChatMessage message : rejected) {
+            lines.append(objectMapper.writeValueAsString(message)).append('\n');
+        }
+        Files.writeString(segmentDir.resolve(DEAD_LETTER_FILE), lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // 내용 변경 적용 (실패한 변경은 다음 주기에 다시 적용)
+    private boolean applyUpdates(List<ContentUpdate> updates) {
+        for (int i = 0; i < updates.size(); i++) {
+            try {
+                applyUpdate(updates.get(i));
+            } catch (Exception e) {
+                log.error("채팅 메시지 내용 변경 적용 실패, 다음 주기에 재시도: messageId={}", updates.get(i).id(), e);
+                synchronized (this) {
+                    pendingUpdates.addAll(0, updates.subList(i, updates.size()));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applyUpdate(ContentUpdate update) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(update.id())),
+                Update.update("content", update.content()),
+                ChatMessage.class);
+    }
+
+    // 이전 실행에서 반영되지 못한 segment 를 버퍼로 다시 적재
+    private void loadSpilledSegments() throws IOException {
+        List<Path> spilled;
+        try (Stream<Path> files = Files.list(segmentDir)) {
+            spilled = files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+
+        int loaded = 0;
+        Map<String, ChatMessage> loadedById = new HashMap<>();
+        for (Path path : spilled) {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    if (UPDATE_OP.equals(node.path("op").asText())) {
+                        // 내용 변경: 아직 버퍼에 있는 메시지는 바로 바꾸고, 이미 저장된 메시지를 위해 다시 적용
+                        ContentUpdate update = objectMapper.treeToValue(node, ContentUpdate.class);
+                        ChatMessage target = loadedById.get(update.id());
+                        if (target != null) {
+                            target.setContent(update.content());
+                        }
+                        pendingUpdates.add(update);
+                        continue;
+                    }
+                    ChatMessage message = objectMapper.treeToValue(node, ChatMessage.class);
+                    buffers.computeIfAbsent(message.getChatroomId(), id -> new RoomBuffer()).add(message);
+                    loadedById.put(message.getId(), message);
+                    loaded++;
+                } catch (IOException e) {
+                    // 비정상 종료로 마지막 줄이 잘린 경우
+                    log.warn("채팅 저널 항목 무시: segment={}", path.getFileName());
+                }
+            }
+            sealedSegments.add(path);
+        }
+
+        if (!spilled.isEmpty()) {
+            log.info("채팅 저널 재적재: segment={}, 메시지={}, 내용 변경={}", spilled.size(), loaded, pendingUpdates.size());
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segmentPath = segmentDir.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segmentSeq++, SEGMENT_SUFFIX));
+        segment = FileChannel.open(segmentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentBytes = 0;
+    }
+
+    // segment 에 기록되는 내용 변경 항목
+    private record ContentUpdate(String op, String id, int chatroomId, String content) {
+    }
+
+    private static class RoomBuffer {
+        private final ConcurrentLinkedDeque<ChatMessage> messages = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private void add(ChatMessage message) {
+            messages.addLast(message);
+            size.incrementAndGet();
+        }
+
+        private List<ChatMessage> drain(int max) {
+            List<ChatMessage> batch = new ArrayList<>(Math.min(max, size.get()));
+            ChatMessage message;
+            while (batch.size() < max && (message = messages.pollFirst()) != null) {
+                batch.add(message);
+                size.decrementAndGet();
+            }
+            return batch;
+        }
+
+        // 반영에 실패한 메시지를 원래 순서대로 앞에 되돌림
+        private void requeue(List<ChatMessage> batch) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                messages.addFirst(batch.get(i));
+                size.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.mockvoting.domain.chat.service;
+
+import com.example.mockvoting.domain.chat.entity.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 채팅 메시지 비동기 검열
+ * - 메시지는 로컬 비속어 검사만 거쳐 즉시 브로드캐스트되고, Perspective API 판정은 이후에 적용한다.
+ * - 뒤늦게 독성으로 판정되면 저장된 내용을 필터링 문구로 바꾸고 채팅방에 redaction 이벤트를 전송한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatModerationService {
+
+    private final PerspectiveApiService perspectiveApiService;
+    private final ChatJournal chatJournal;
+    private final SimpMessagingTemplate messagingTemplate;
+    // chat.broker.mode=redis 일 때만 등록됨
+    private final ObjectProvider<ChatHistoryRelay> chatHistoryRelay;
+
+    @Value("${chat.moderation.remote-enabled:true}")
+    private boolean remoteEnabled;
+
+    @Value("${chat.moderation.timeout-ms:30000}")
+    private long timeoutMs;
+
+    /**
+     * 저장·전송이 끝난 메시지의 원격 독성 판정 요청 (호출 스레드를 막지 않음)
+     */
+    public void moderateAsync(ChatMessage message) {
+        if (!remoteEnabled || message.getId() == null) {
+            return;
+        }
+
+        perspectiveApiService.isToxicByPerspective(message.getContent())
+                .timeout(Duration.ofMillis(timeoutMs))
+                .onErrorReturn(false)
+                .filter(Boolean::booleanValue)
+                // Mongo 갱신과 메시지 전송은 블로킹 호출이므로 네트워크 스레드에서 분리
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(toxic -> redact(message),
+                        e -> log.error("채팅 메시지 검열 실패: messageId={}", message.getId(), e));
+    }
+
+    private void redact(ChatMessage message) {
+        // 아직 Mongo 에 반영되지 않은 메시지도 있으므로 저널을 통해 변경
+        chatJournal.updateContent(message, ChatService.FILTERED_CONTENT);
+        chatHistoryRelay.ifAvailable(relay -> relay.publishUpdate(message, ChatService.FILTERED_CONTENT));
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("type", "redaction");
+        event.put("messageId", message.getId());
+        event.put("chatroomId", message.getChatroomId());
+        event.put("content", ChatService.FILTERED_CONTENT);
+        messagingTemplate.convertAndSend("/topic/chat/" + message.getChatroomId(), event);
+
+        log.info("채팅 메시지 사후 필터링: roomId={}, messageId={}, userId={}",
+                message.getChatroomId(), message.getId(), message.getUserId());
+    }
+}
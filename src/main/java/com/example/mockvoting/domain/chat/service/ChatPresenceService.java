@@ -0,0 +1,203 @@
+package com.example.mockvoting.domain.chat.service;
+
+import com.example.mockvoting.domain.user.entity.User;
+import com.example.mockvoting.domain.user.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방 접속자 관리
+ * - 채팅방 참여(join)와 STOMP 세션 종료 이벤트로 채팅방별 접속자를 메모리에서 관리한다.
+ * - 접속자 변동 시 전체 목록 대신 participant_joined / participant_left 변경분만 /topic/participants/{roomId} 로 전송한다.
+ * - 닉네임은 IN 쿼리 한 번으로 일괄 조회하고 TTL 동안 캐시한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatPresenceService {
+
+    private final UserMapper userMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${chat.presence.profile-ttl-ms:300000}")
+    private long profileTtlMs;
+
+    // 채팅방 ID → (사용자 ID → 접속 정보)
+    private final ConcurrentHashMap<Integer, ConcurrentHashMap<String, Presence>> rooms = new ConcurrentHashMap<>();
+    // STOMP 세션 ID → 세션이 참여 중인 채팅방
+    private final ConcurrentHashMap<String, Set<RoomMember>> sessions = new ConcurrentHashMap<>();
+    // 사용자 ID → 닉네임
+    private final ConcurrentHashMap<String, CachedProfile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * 채팅방 참여 (같은 사용자의 첫 세션일 때만 참여 변경분 전송)
+     */
+    public void join(String sessionId, int roomId, String userId, boolean admin) {
+        if (sessionId == null || userId == null) {
+            return;
+        }
+
+        sessions.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet())
+                .add(new RoomMember(roomId, userId));
+
+        boolean[] first = new boolean[1];
+        rooms.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>())
+                .compute(userId, (id, presence) -> {
+                    if (presence == null) {
+                        presence = new Presence(admin);
+                        first[0] = true;
+                    }
+                    presence.sessionIds.add(sessionId);
+                    return presence;
+                });
+
+        if (first[0]) {
+            publish(roomId, "participant_joined", toParticipant(userId, admin, getNicknames(List.of(userId))));
+        }
+    }
+
+    /**
+     * 채팅방 퇴장 (사용자의 마지막 세션일 때만 퇴장 변경분 전송)
+     */
+    public void leave(String sessionId, int roomId, String userId) {
+        if (sessionId == null || userId == null) {
+            return;
+        }
+
+        Set<RoomMember> joined = sessions.get(sessionId);
+        if (joined != null) {
+            joined.remove(new RoomMember(roomId, userId));
+        }
+        removeSession(sessionId, roomId, userId);
+    }
+
+    /**
+     * STOMP 세션 종료 시 세션이 참여 중이던 모든 채팅방에서 퇴장 처리
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Set<RoomMember> joined = sessions.remove(event.getSessionId());
+        if (joined == null) {
+            return;
+        }
+        for (RoomMember member : joined) {
+            removeSession(event.getSessionId(), member.roomId(), member.userId());
+        }
+    }
+
+    /**
+     * 채팅방 현재 접속자 목록
+     */
+    public List<Map<String, Object>> getParticipants(int roomId) {
+        Map<String, Presence> members = rooms.getOrDefault(roomId, new ConcurrentHashMap<>());
+        Map<String, Boolean> snapshot = new HashMap<>();
+        members.forEach((userId, presence) -> snapshot.put(userId, presence.admin));
+
+        Map<String, String> nicknames = getNicknames(snapshot.keySet());
+        List<Map<String, Object>> participants = new ArrayList<>(snapshot.size());
+        snapshot.forEach((userId, admin) -> {
+            if (nicknames.containsKey(userId)) {
+                participants.add(toParticipant(userId, admin, nicknames));
+            }
+        });
+        return participants;
+    }
+
+    private void removeSession(String sessionId, int roomId, String userId) {
+        ConcurrentHashMap<String, Presence> members = rooms.get(roomId);
+        if (members == null) {
+            return;
+        }
+
+        boolean[] last = new boolean[1];
+        members.computeIfPresent(userId, (id, presence) -> {
+            presence.sessionIds.remove(sessionId);
+            if (presence.sessionIds.isEmpty()) {
+                last[0] = true;
+                return null;
+            }
+            return presence;
+        });
+
+        if (last[0]) {
+            Map<String, Object> participant = new HashMap<>();
+            participant.put("id", userId);
+            publish(roomId, "participant_left", participant);
+        }
+    }
+
+    private void publish(int roomId, String type, Map<String, Object> participant) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", type);
+        message.put("participant", participant);
+        message.put("timestamp", new Date());
+        messagingTemplate.convertAndSend("/topic/participants/" + roomId, message);
+    }
+
+    private Map<String, Object> toParticipant(String userId, boolean admin, Map<String, String> nicknames) {
+        Map<String, Object> participant = new HashMap<>();
+        participant.put("id", userId);
+        participant.put("nickname", nicknames.get(userId));
+        participant.put("role", admin ? "admin" : "user");
+        return participant;
+    }
+
+    // 캐시에 없는 사용자만 IN 쿼리 한 번으로 조회
+    private Map<String, String> getNicknames(Collection<String> userIds) {
+        long now = System.currentTimeMillis();
+        Map<String, String> nicknames = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String userId : userIds) {
+            CachedProfile cached = profiles.get(userId);
+            if (cached != null && cached.expiresAt > now) {
+                nicknames.put(userId, cached.nickname);
+            } else {
+                misses.add(userId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (User user : userMapper.findByUserIds(misses)) {
+                profiles.put(user.getUserId(), new CachedProfile(user.getNickname(), now + profileTtlMs));
+                nicknames.put(user.getUserId(), user.getNickname());
+            }
+        }
+        return nicknames;
+    }
+
+    private record RoomMember(int roomId, String userId) {
+    }
+
+    private static class Presence {
+        private final boolean admin;
+        private final Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+
+        private Presence(boolean admin) {
+            this.admin = admin;
+        }
+    }
+
+    private static class CachedProfile {
+        private final String nickname;
+        private final long expiresAt;
+
+        private CachedProfile(String nickname, long expiresAt) {
+            this.nickname = nickname;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,65 +1,73 @@
 package com.example.mockvoting.domain.chat.service;
 
 import com.example.mockvoting.domain.chat.entity.ChatMessage;
-import com.example.mockvoting.domain.chat.repository.ChatMessageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Collections;
 
 @Service // Service 레이어 - 채팅 메시지 관련 로직 담당
 public class ChatService {
 
-    @Autowired // MongoDB 저장소 주입
-    private ChatMessageRepository chatMessageRepository;
+    public static final String FILTERED_CONTENT = "[비속어가 감지되어 메시지가 필터링되었습니다]";
+
+    // 채팅 기록 기본 조회 개수 / 최대 조회 개수
+    private static final int DEFAULT_HISTORY_SIZE = 50;
+    private static final int MAX_HISTORY_SIZE = 100;
 
     @Autowired
     private PerspectiveApiService perspectiveApiService;
 
-    // 메시지 저장
+    @Autowired
+    private ChatJournal chatJournal;
+
+    @Autowired
+    private ChatHistoryBuffer chatHistoryBuffer;
+
+    @Autowired
+    private ChatUnreadService chatUnreadService;
+
+    // chat.broker.mode=redis 일 때만 등록됨
+    @Autowired(required = false)
+    private ChatHistoryRelay chatHistoryRelay;
+
+    // 메시지 저장 (ID를 미리 부여하고 Mongo 반영은 ChatJournal 에서 비동기로 처리)
     public ChatMessage saveMessage(ChatMessage chatMessage) {
-        // ID가 없거나 기본값(0)인 경우 null로 설정하여 MongoDB가 자동 생성하도록 함
+        // ID가 없거나 기본값(0)인 경우 null로 설정하여 새 ObjectId를 부여받도록 함
         if (chatMessage.getId() == null || chatMessage.getId().equals("0")) {
             chatMessage.setId(null);
         }
 
-        // 필터링 먼저 수행 (동기적으로)
-        boolean isToxic = checkAndFilterProfanity(chatMessage);
+        // 채팅방 메시지 순번 발급 (안 읽은 메시지 수 계산 기준)
+        chatMessage.setSeq(chatUnreadService.nextSequence(chatMessage.getChatroomId()));
 
-        if (isToxic) {
-            System.out.println("비속어 감지됨 (저장 전 필터링 완료): " + chatMessage.getContent());
+        // 비속어 검사는 호출 측에서 한 번만 수행한다 (filterLocalProfanity / ChatModerationService)
+        ChatMessage savedMessage = chatJournal.append(chatMessage);
+        chatHistoryBuffer.append(savedMessage);
+        if (chatHistoryRelay != null) {
+            chatHistoryRelay.publishAppend(savedMessage);
         }
-
-        // 필터링된 메시지 저장
-        return chatMessageRepository.save(chatMessage);
+        chatUnreadService.publishLatest(savedMessage.getChatroomId(), savedMessage.getSeq());
+        return savedMessage;
     }
 
-    // 비속어 감지와 필터링을 위한 동기 메소드 (메시지 전송 전 체크)
-    public boolean checkAndFilterProfanity(ChatMessage chatMessage) {
-
-        try{
-            // 비동기 호출을 동기 호출로 변환하여 결과를 기다립니다
-            boolean isToxic = perspectiveApiService.containsToxicContent(chatMessage.getContent()).block();
-
-            if (isToxic) {
-                // 비속어가 감지되면 메시지 내용을 수정하거나 경고 추가
-                chatMessage.setContent("[비속어가 감지되어 메시지가 필터링되었습니다]");
-                // 또는 관리자에게 알림 등 추가 조치
-            }
-            return isToxic;
-        }catch (Exception e){
-            return false; // 오류 발생 시 비속어가 없다고 간주
+    // 로컬 비속어 목록 기준 감지 및 필터링 (외부 API를 기다리지 않음)
+    public boolean filterLocalProfanity(ChatMessage chatMessage) {
+        boolean containsProfanity = perspectiveApiService.containsLocalProfanity(chatMessage.getContent());
+        if (containsProfanity) {
+            chatMessage.setContent(FILTERED_CONTENT);
         }
-
+        return containsProfanity;
     }
 
     // 채팅 기록 조회 (최근 50개)
     public List<ChatMessage> getChatHistory(int chatroomId) {
-        List<ChatMessage> messages = chatMessageRepository.findTop50ByChatroomIdOrderBySentAtDesc(chatroomId);  // 메서드 호출 시 chatroomId 사용
-        Collections.reverse(messages); // 시간순 정렬
-        return messages;
+        return getChatHistory(chatroomId, null, DEFAULT_HISTORY_SIZE);
     }
 
-
-}
\ No newline at end of file
+    // 채팅 기록 조회 (before 메시지 이전 limit 개, 시간순)
+    public List<ChatMessage> getChatHistory(int chatroomId, String before, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_HISTORY_SIZE);
+        return chatHistoryBuffer.getMessages(chatroomId, before, size);
+    }
+}
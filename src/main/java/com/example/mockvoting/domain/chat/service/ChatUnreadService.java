@@ -0,0 +1,171 @@
+package com.example.mockvoting.domain.chat.service;
+
+import com.example.mockvoting.domain.chat.dto.UnreadCountDTO;
+import com.example.mockvoting.exception.CustomException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방 안 읽은 메시지 수
+ * - 채팅방마다 메시지 순번(chat:seq:{roomId})을 증가시키고, 사용자별로 채팅방 마지막 읽은 순번(chat:read:{userId})만 저장한다.
+ * - 안 읽은 수 = 채팅방 최신 순번 - 마지막 읽은 순번 이므로 메시지/사용자 수와 무관하게 O(1) 로 계산한다.
+ * - 새 메시지마다 /topic/unread/{roomId} 로 최신 순번만 전송하고, 클라이언트가 자신의 커서로 안 읽은 수를 계산한다.
+ * - 읽음 커서는 채팅방 참여 시에만 만들고, 커서가 없는 채팅방의 조회/읽음 처리는 404 로 거절한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatUnreadService {
+
+    private static final String SEQ_KEY_PREFIX = "chat:seq:";
+    private static final String READ_KEY_PREFIX = "chat:read:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> markReadScript =
+            RedisScript.of(new ClassPathResource("redis/mark_read.lua"), List.class);
+
+    /**
+     * 채팅방 다음 메시지 순번 발급
+     * @return Redis 오류 시 0 (순번 없이 메시지는 전송)
+     */
+    public long nextSequence(int chatroomId) {
+        try {
+            Long seq = redisTemplate.opsForValue().increment(seqKey(chatroomId));
+            return seq == null ? 0 : seq;
+        } catch (Exception e) {
+            // 안 읽은 수 집계 실패로 채팅 전송이 실패하지 않도록 함
+            log.warn("채팅방 메시지 순번 발급 실패: chatroomId={}", chatroomId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 채팅방 최신 순번 전송 (새 메시지 저장 후 호출, 순번이 없는 메시지는 전송하지 않음)
+     */
+    public void publishLatest(int chatroomId, long seq) {
+        if (seq <= 0) {
+            return;
+        }
+        Map<String, Object> message = new HashMap<>();
+        message.put("chatroomId", chatroomId);
+        message.put("latestSeq", seq);
+        messagingTemplate.convertAndSend("/topic/unread/" + chatroomId, message);
+    }
+
+    /**
+     * 채팅방 참여 시 읽음 커서 생성 (참여 이전 메시지는 안 읽은 수에 포함하지 않음)
+     */
+    public void startTracking(int chatroomId, String userId) {
+        if (userId == null) {
+            return;
+        }
+        String latest = redisTemplate.opsForValue().get(seqKey(chatroomId));
+        redisTemplate.opsForHash().putIfAbsent(readKey(userId), String.valueOf(chatroomId),
+                latest == null ? "0" : latest);
+    }
+
+    /**
+     * 채팅방 퇴장 시 읽음 커서 제거
+     */
+    public void stopTracking(int chatroomId, String userId) {
+        if (userId == null) {
+            return;
+        }
+        redisTemplate.opsForHash().delete(readKey(userId), String.valueOf(chatroomId));
+    }
+
+    /**
+     * 읽음 처리
+     * @param seq 마지막으로 읽은 메시지 순번 (null 이면 최신 메시지까지)
+     * @throws CustomException 참여하지 않은 채팅방 (404)
+     */
+    public UnreadCountDTO markRead(int chatroomId, String userId, Long seq) {
+        @SuppressWarnings("unchecked")
+        List<Long> result = redisTemplate.execute(markReadScript,
+                List.of(readKey(userId), seqKey(chatroomId)),
+                String.valueOf(chatroomId), String.valueOf(seq == null ? -1 : seq));
+        if (result == null || result.isEmpty()) {
+            throw notJoined(chatroomId);
+        }
+        return toDTO(chatroomId, result.get(0), result.get(1));
+    }
+
+    /**
+     * 채팅방 안 읽은 메시지 수
+     * @throws CustomException 참여하지 않은 채팅방 (404)
+     */
+    public UnreadCountDTO getUnreadCount(int chatroomId, String userId) {
+        Object cursor = redisTemplate.opsForHash().get(readKey(userId), String.valueOf(chatroomId));
+        if (cursor == null) {
+            throw notJoined(chatroomId);
+        }
+        String latest = redisTemplate.opsForValue().get(seqKey(chatroomId));
+        return toDTO(chatroomId, parse(cursor), parse(latest));
+    }
+
+    /**
+     * 사용자가 참여 중인 모든 채팅방의 안 읽은 메시지 수 (HGETALL + MGET 두 번 조회)
+     */
+    public List<UnreadCountDTO> getUnreadCounts(String userId) {
+        Map<Object, Object> cursors = redisTemplate.opsForHash().entries(readKey(userId));
+        if (cursors.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> roomIds = new ArrayList<>(cursors.size());
+        List<String> seqKeys = new ArrayList<>(cursors.size());
+        for (Object roomId : cursors.keySet()) {
+            int chatroomId = Integer.parseInt(roomId.toString());
+            roomIds.add(chatroomId);
+            seqKeys.add(seqKey(chatroomId));
+        }
+
+        List<String> latest = redisTemplate.opsForValue().multiGet(seqKeys);
+        List<UnreadCountDTO> counts = new ArrayList<>(roomIds.size());
+        for (int i = 0; i < roomIds.size(); i++) {
+            int chatroomId = roomIds.get(i);
+            counts.add(toDTO(chatroomId, parse(cursors.get(String.valueOf(chatroomId))),
+                    parse(latest == null ? null : latest.get(i))));
+        }
+        return counts;
+    }
+
+    private UnreadCountDTO toDTO(int chatroomId, long lastRead, long latest) {
+        return UnreadCountDTO.builder()
+                .chatroomId(chatroomId)
+                .lastReadSeq(lastRead)
+                .latestSeq(latest)
+                .unreadCount(Math.max(0, latest - lastRead))
+                .build();
+    }
+
+    private CustomException notJoined(int chatroomId) {
+        return new CustomException("참여하지 않은 채팅방입니다: " + chatroomId, HttpStatus.NOT_FOUND);
+    }
+
+    private long parse(Object value) {
+        return value == null ? 0 : Long.parseLong(value.toString());
+    }
+
+    private String seqKey(int chatroomId) {
+        return SEQ_KEY_PREFIX + chatroomId;
+    }
+
+    private String readKey(String userId) {
+        return READ_KEY_PREFIX + userId;
+    }
+}
@@ -1,101 +1,186 @@
 package com.example.mockvoting.domain.chat.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.mockvoting.util.ProfanityMatcher;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
+/**
+ * Perspective API 독성 판정
+ * - 정규화한 텍스트의 해시로 판정 결과를 캐시하고, 같은 텍스트의 동시 조회는 요청 한 번을 공유한다.
+ * - 캐시에 없는 조회는 대기열에 쌓아 초당 요청 한도 안에서만 API를 호출하며, 대기열이 가득 차면 판정을 생략한다.
+ * - 대기열 크기 기본값은 초당 요청 한도(1) × 채팅 검열 대기 시간(30초)이다. 그보다 길면 호출 차례가 오기 전에 조회자가 포기한다.
+ * - 조회자가 이미 포기한(구독자가 없는) 조회는 요청 한도를 쓰지 않고 버린다.
+ */
+@Slf4j
 @Service
 public class PerspectiveApiService {
 
     private final WebClient webClient;
     private final String apiKey;
-    private final ObjectMapper objectMapper;
-    private final List<String> profanityList; //한국어 비속어 목록
+    private final ProfanityMatcher profanityMatcher; //한국어 비속어 사전 매처
+
+    // 텍스트 해시 → 판정 결과 (LRU)
+    private final Map<String, Verdict> verdicts;
+    // 캐시에 없는 조회 대기열
+    private final BlockingQueue<ColdLookup> coldLookups;
+
+    @Value("${perspective.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${perspective.cache.ttl-ms:600000}")
+    private long cacheTtlMs;
+
+    @Value("${perspective.rate.requests-per-second:1.0}")
+    private double requestsPerSecond;
+
+    @Value("${perspective.rate.burst:1}")
+    private int burst;
+
+    // 대기열에 막 들어와 아직 구독되지 않았을 수 있는 조회는 버리지 않음
+    @Value("${perspective.queue.subscribe-grace-ms:1000}")
+    private long subscribeGraceMs;
+
+    // 토큰 버킷 상태 (dispatchColdLookups 에서만 접근)
+    private double availableRequests;
+    private long lastRefillNanos = System.nanoTime();
 
     // application.properties 에서 API 키를 가져옵니다.
-    public PerspectiveApiService(@Value("${perspective.api.key}") String apiKey) {
+    public PerspectiveApiService(@Value("${perspective.api.key}") String apiKey,
+                                 @Value("${perspective.queue.max-size:30}") int maxQueuedLookups,
+                                 ProfanityMatcher profanityMatcher) {
         this.apiKey = apiKey;
         this.webClient = WebClient.builder()
                 .baseUrl("https://commentanalyzer.googleapis.com/v1alpha1")
                 .build();
-        this.objectMapper = new ObjectMapper();
-        this.profanityList = new ArrayList<>();
+        this.profanityMatcher = profanityMatcher;
+        this.coldLookups = new LinkedBlockingQueue<>(maxQueuedLookups);
+        this.verdicts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Verdict> eldest) {
+                return size() > cacheMaxSize;
+            }
+        };
     }
 
-    // 서비스 초기화 시 JSON 파일에서 비속어 목록 로드
-    @PostConstruct
-    public void init() {
-        try {
-            loadProfanityListFromJson();
-        } catch (IOException e) {
-            e.printStackTrace();
+    // 입력된 텍스트가 로컬 비속어 목록 또는 Perspective API 기준으로 독성 콘텐츠인지 여부를 판별
+    public Mono<Boolean> containsToxicContent(String text) {
+        if (containsLocalProfanity(text)) {
+            return Mono.just(true);
         }
+        return isToxicByPerspective(text);
     }
 
-    // JSON 파일에서 비속어 목록 로드
-    private void loadProfanityListFromJson() throws IOException {
-        try{
-            // 클래스패스 리소스에서 JSON 파일 로드
-            ClassPathResource resource = new ClassPathResource("profanity/profanity.json");
-            InputStream inputStream = resource.getInputStream();
-
-            // JSON 파싱
-            JsonNode rootNode = objectMapper.readTree(inputStream);
-            JsonNode profanityNode = rootNode.get("profanity");
-
-            // 기존 리스트 비우기
-            profanityList.clear();
-
-            // 비속어 목록 추출
-            if (profanityNode.isArray()) {
-                for( JsonNode node : profanityNode ){
-                    profanityList.add(node.asText());
-                }
+    // 커스텀 비속어 필터링 (JSON에서 로드한 한국어 비속어 사전 체크, 외부 호출 없음)
+    public boolean containsLocalProfanity(String text) {
+        return profanityMatcher.containsProfanity(text);
+    }
+
+    // Perspective API 독성 점수 판별 (로컬 목록 검사는 포함하지 않음)
+    public Mono<Boolean> isToxicByPerspective(String text) {
+
+        // 텍스트가 비어있으면 검사하지 않음
+        if (text == null || text.isBlank()) {
+            return Mono.just(false);
+        }
+
+        String normalized = normalize(text);
+        // 글자가 없는 메시지(기호, 숫자, 이모지만)는 검사하지 않음
+        if (normalized.codePoints().noneMatch(Character::isLetter)) {
+            return Mono.just(false);
+        }
+
+        String key = hash(normalized);
+        synchronized (verdicts) {
+            Verdict cached = verdicts.get(key);
+            if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+                return cached.result.onErrorReturn(false);
+            }
+
+            ColdLookup lookup = new ColdLookup(key, text);
+            if (!coldLookups.offer(lookup)) {
+                log.warn("Perspective API 대기열 초과로 판정 생략: 대기={}", coldLookups.size());
+                return Mono.just(false);
             }
 
-            // 리소스 닫기
-            inputStream.close();
-        } catch (IOException e) {
-            throw e;
+            // 요청이 끝나기 전의 같은 텍스트 조회도 이 결과를 공유한다
+            Verdict verdict = new Verdict(lookup.result, System.currentTimeMillis() + cacheTtlMs);
+            verdicts.put(key, verdict);
+            return verdict.result.onErrorReturn(false);
         }
     }
 
-    // 입력된 텍스트가 Perspective API 기준으로 독성(비속어 등) 콘텐츠인지 여부를 판별
-    public Mono<Boolean> containsToxicContent(String text) {
+    /**
+     * 대기 중인 조회를 초당 요청 한도 안에서 API로 전송
+     */
+    @Scheduled(fixedDelayString = "${perspective.dispatch-interval-ms:100}")
+    public void dispatchColdLookups() {
+        long now = System.nanoTime();
+        availableRequests = Math.min(burst,
+                availableRequests + (now - lastRefillNanos) / 1_000_000_000.0 * requestsPerSecond);
+        lastRefillNanos = now;
 
-        // 텍스트가 비어있거나 너무 짧으면 검사하지 않음
-        if (text == null) {
-            return Mono.just(false);
-        }
+        ColdLookup lookup;
+        while (availableRequests >= 1 && (lookup = coldLookups.poll()) != null) {
+            ColdLookup current = lookup;
+            if (current.sink.currentSubscriberCount() == 0
+                    && System.currentTimeMillis() - current.queuedAt > subscribeGraceMs) {
+                // 조회자가 시간 초과로 포기한 조회: 캐시하지 않고 버림
+                evict(current);
+                current.sink.tryEmitValue(false);
+                continue;
+            }
 
-        // 커스텀 비속어 필터링 (JSON에서 로드한 한국어 비속어 목록 체크)
-        String lowerText = text.toLowerCase();
+            availableRequests -= 1;
+            requestToxicity(current.text).subscribe(
+                    current.sink::tryEmitValue,
+                    e -> {
+                        // 실패한 판정은 캐시하지 않아 다음 조회에서 다시 요청
+                        log.warn("Perspective API 호출 실패: {}", e.getMessage());
+                        evict(current);
+                        current.sink.tryEmitError(e);
+                    },
+                    () -> {
+                        // 응답 없이 끝난 경우 대기 중인 조회자가 TTL 동안 멈추지 않도록 false 로 끝내고 캐시하지 않음
+                        if (current.sink.tryEmitValue(false).isSuccess()) {
+                            log.warn("Perspective API 응답 없음: key={}", current.key);
+                            evict(current);
+                        }
+                    });
+        }
+    }
 
-        // 비속어 검사 로직 강화
-        boolean found = false;
-        for ( String word : profanityList ) {
-            if(lowerText.contains(word.toLowerCase())) {
-                return Mono.just(true);
+    // 이 조회가 만든 캐시 항목만 제거 (이후 새로 만든 항목은 유지)
+    private void evict(ColdLookup lookup) {
+        synchronized (verdicts) {
+            Verdict verdict = verdicts.get(lookup.key);
+            if (verdict != null && verdict.result == lookup.result) {
+                verdicts.remove(lookup.key);
             }
         }
+    }
 
+    private Mono<Boolean> requestToxicity(String text) {
         // Perspective API에 보낼 요청 본문 생성
         String requestBody = buildRequestBody(text);
-        System.out.println("Perspective API 요청: " + requestBody);
 
         return webClient.post()
                 .uri(uriBuilder -> uriBuilder
@@ -106,13 +191,37 @@ public class PerspectiveApiService {
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(String.class)
-                .doOnNext(response -> System.out.println("Perspective API 응답: " + response))
                 .map(this::parseToxicityScore)
-                .map(score -> {
-                    System.out.println("비속어 점수: " + score);
-                    return score > 0.7;
-                })// 0.7 이상이면 독성 컨텐츠로 간주 (임계값 설정 가능)
-                .onErrorReturn(false); // 오류 발생 시 기본값
+                .map(score -> score > 0.7); // 0.7 이상이면 독성 컨텐츠로 간주 (임계값 설정 가능)
+    }
+
+    // 캐시 키용 정규화: 소문자, 공백 제거, 같은 글자 4회 이상 반복은 3회로 축약 ("ㅋㅋㅋㅋㅋ" → "ㅋㅋㅋ")
+    private String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        int run = 0;
+        int previous = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.toLowerCase(text.codePointAt(i));
+            i += Character.charCount(codePoint);
+            if (Character.isWhitespace(codePoint)) {
+                continue;
+            }
+            run = codePoint == previous ? run + 1 : 1;
+            previous = codePoint;
+            if (run <= 3) {
+                sb.appendCodePoint(codePoint);
+            }
+        }
+        return sb.toString();
+    }
+
+    private String hash(String normalized) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     // Perspective API에 전달할 JSON 요청 본문을 생성하는 함수
@@ -150,5 +259,26 @@ public class PerspectiveApiService {
         }
     }
 
+    private static class Verdict {
+        private final Mono<Boolean> result;
+        private final long expiresAt;
 
+        private Verdict(Mono<Boolean> result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class ColdLookup {
+        private final String key;
+        private final String text;
+        private final Sinks.One<Boolean> sink = Sinks.one();
+        private final Mono<Boolean> result = sink.asMono();
+        private final long queuedAt = System.currentTimeMillis();
+
+        private ColdLookup(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
 }
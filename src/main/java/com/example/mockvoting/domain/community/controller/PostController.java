@@ -3,8 +3,8 @@ package com.example.mockvoting.domain.community.controller;
 import com.example.mockvoting.domain.community.dto.*;
 import com.example.mockvoting.domain.community.service.PostService;
 import com.example.mockvoting.response.ApiResponse;
+import com.example.mockvoting.util.ClientIpResolver;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -14,7 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import jakarta.servlet.http.Cookie;
 
 import java.util.List;
 
@@ -24,6 +23,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PostController {
     private final PostService postService;
+    private final ClientIpResolver clientIpResolver;
 
     /**
      *  게시글 상세 조회
@@ -31,24 +31,13 @@ public class PostController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<PostDetailResponseDTO>> getPostDetail(
             @PathVariable Long id,
-            @RequestParam(value = "userId", required = false) String userId
-//            @CookieValue(value = "viewedPostIds", defaultValue = "") String viewedPostIds,
-//            HttpServletResponse response
+            HttpServletRequest request
     ) {
-
+        String userId = (String) request.getAttribute("userId");
         log.info("게시글 [{}] 상세 조회 요청", id);
 
         try {
-//            PostDetailViewDTO result = postService.getPostDetail(id, viewedPostIds, userId);
-            PostDetailViewDTO result = postService.getPostDetail(id, userId);
-
-            // 새 쿠키값이 있을 때만 HTTP 응답에 추가
-//            if (result.getNewViewedPostIds() != null) {
-//                Cookie cookie = new Cookie("viewedPostIds", result.getNewViewedPostIds());
-//                cookie.setPath("/");
-//                cookie.setMaxAge(60 * 60 * 12); // 12시간 유지
-//                response.addCookie(cookie);
-//            }
+            PostDetailViewDTO result = postService.getPostDetail(id, userId, clientIpResolver.resolve(request));
 
             log.info("게시글 [{}] 상세 조회 요청 처리 성공", id);
             return ResponseEntity.ok(ApiResponse.success("게시글 상세 조회 성공", result.getPost()));
@@ -104,6 +93,30 @@ public class PostController {
         }
     }
 
+    /**
+     *  카테고리별 게시글 커서 조회 (무한 스크롤용)
+     *  cursor: 이전 응답의 nextCursor (첫 페이지는 생략)
+     */
+    @GetMapping("/category/{categoryCode}/cursor")
+    public ResponseEntity<ApiResponse<PostCursorPageDTO>> getPostsByCategoryCursor(
+            @PathVariable String categoryCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("카테고리 [{}] 게시글 커서 조회 요청", categoryCode);
+
+        try {
+            PostCursorPageDTO page = postService.getPostsByCategoryCursor(categoryCode, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("게시글 목록 조회 성공", page));
+        } catch (IllegalArgumentException e) {
+            log.warn("카테고리 [{}] 게시글 커서 조회 실패: {}", categoryCode, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("카테고리 [{}] 게시글 커서 조회 요청 처리 실패", categoryCode, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("게시글 목록 조회 실패"));
+        }
+    }
+
     /**
      *  게시글 등록
      */
@@ -0,0 +1,19 @@
+package com.example.mockvoting.domain.community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCursorPageDTO {
+    private List<PostSummaryResponseDTO> posts;
+    private String nextCursor;  // 다음 페이지 요청 시 전달 (마지막 페이지면 null)
+    private boolean hasNext;
+    private int totalCount;     // 캐시된 전체 게시글 수 (근사값)
+}
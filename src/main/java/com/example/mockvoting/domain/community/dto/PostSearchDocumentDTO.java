@@ -0,0 +1,21 @@
+package com.example.mockvoting.domain.community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchDocumentDTO {
+    private Long id;
+    private Long categoryId;
+    private String title;
+    private String content;
+    private String authorNickname;
+    private LocalDateTime createdAt;
+}
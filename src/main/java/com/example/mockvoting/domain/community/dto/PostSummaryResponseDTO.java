@@ -24,4 +24,8 @@ public class PostSummaryResponseDTO {
     private String categoryName;
     private String authorNickname;
     private Integer commentCount;
+
+    // 검색 결과 강조 표시 (<em> 태그, 검색 색인 사용 시에만 채워짐)
+    private String titleHighlight;
+    private String contentHighlight;
 }
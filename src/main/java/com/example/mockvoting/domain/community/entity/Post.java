@@ -10,7 +10,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name="post")
+@Table(name="post", indexes = {
+        // 목록 커서 조회 (created_at, id) 정렬용
+        @Index(name = "idx_post_category_created", columnList = "category_id, is_deleted, created_at, id"),
+        @Index(name = "idx_post_created", columnList = "is_deleted, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -42,9 +46,15 @@ public class Post implements Votable {
     @Column(nullable = false)
     private int downvotes;
 
-    @Column(nullable = false)
+    // 조회수는 PostViewCounter 가 SQL 로만 증가 (JPA 저장 시 덮어쓰지 않음)
+    @Column(nullable = false, updatable = false)
     private int views;
 
+    // 댓글 등록/삭제 시 SQL 로만 증감 (JPA 저장 시 덮어쓰지 않음)
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int commentCount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "post_comment")
+@Table(name = "post_comment", indexes = @Index(name = "idx_post_comment_post", columnList = "post_id, is_deleted"))
 @Data
 @Builder
 @NoArgsConstructor
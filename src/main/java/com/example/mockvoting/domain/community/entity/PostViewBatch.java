@@ -0,0 +1,28 @@
+package com.example.mockvoting.domain.community.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB 에 반영된 조회수 batch 기록 (PostViewCounter 가 같은 batch 를 두 번 반영하지 않도록 함)
+ */
+@Entity
+@Table(name = "post_view_batch", indexes = @Index(name = "idx_post_view_batch_applied", columnList = "applied_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostViewBatch {
+
+    @Id
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,13 @@
+package com.example.mockvoting.domain.community.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시글이 등록/수정/삭제되었을 때 발행되는 애플리케이션 이벤트
+ */
+@Getter
+@RequiredArgsConstructor
+public class PostChangedEvent {
+    private final Long postId;
+}
@@ -29,4 +29,10 @@ public interface PostCommentMapper {
      * @return 해당 부모 ID를 가진 모든 자식 댓글
      */
     List<PostCommentResponseDTO> selectCommentsByParentIds(List<Long> parentIds);
+
+    /**
+     * 댓글 삭제 처리 (아직 삭제되지 않은 댓글만)
+     * @return 삭제 처리된 행 수 (동시에 삭제된 경우 한쪽만 1)
+     */
+    int softDeleteById(@Param("id") Long id);
 }
@@ -3,11 +3,14 @@ package com.example.mockvoting.domain.community.mapper;
 import com.example.mockvoting.domain.community.dto.NoticeSummaryDTO;
 import com.example.mockvoting.domain.community.dto.PopularPostResponseDTO;
 import com.example.mockvoting.domain.community.dto.PostDetailResponseDTO;
+import com.example.mockvoting.domain.community.dto.PostSearchDocumentDTO;
 import com.example.mockvoting.domain.community.dto.PostSummaryResponseDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface PostMapper {
@@ -26,18 +29,61 @@ public interface PostMapper {
                                                        @Param("limit") int limit,
                                                        @Param("searchType") String searchType,
                                                        @Param("keyword") String keyword);
+
+    // 활성화된 카테고리에 속한 게시글 커서 조회 ((createdAt, id) 이전 게시글, 최신순)
+    List<PostSummaryResponseDTO> selectPostsFromActiveCategoriesBefore(@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                                       @Param("cursorId") Long cursorId,
+                                                                       @Param("limit") int limit);
+
+    // 카테고리별 게시글 커서 조회 ((createdAt, id) 이전 게시글, 최신순)
+    List<PostSummaryResponseDTO> selectPostsByCategoryBefore(@Param("categoryCode") String categoryCode,
+                                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                             @Param("cursorId") Long cursorId,
+                                                             @Param("limit") int limit);
+
     // 인기 게시글 조회
     List<PopularPostResponseDTO> selectPopularPosts();
 
     // 최근 공지사항 조회
     List<NoticeSummaryDTO> selectRecentNotices();
 
+    // 게시글 댓글 수 증감
+    void updateCommentCountById(@Param("id") Long id, @Param("delta") int delta);
+
+    // 댓글 수가 실제 값과 다른 게시글 id (fromId < id <= toId)
+    List<Long> selectCommentCountMismatchIds(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // 게시글 댓글 수 재계산
+    int recountCommentCountById(@Param("id") Long id);
+
+    // 가장 큰 게시글 id
+    Long selectMaxId();
+
     // 게시글 조회수 업데이트
     void updateViewCountById(@Param("id") Long id);
 
+    // 게시글 조회수 일괄 증가 (게시글 ID → 증가분)
+    void addViewCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    // 조회수 batch 반영 기록 (이미 반영된 batch 면 0 반환)
+    int insertViewBatch(@Param("batchId") String batchId);
+
+    // 기준 시각 이전의 조회수 batch 기록 삭제
+    int deleteViewBatchesBefore(@Param("before") LocalDateTime before);
+
     // 게시글 id로 카테고리 id 조회
     Long selectCategoryIdById(@Param("id") Long id);
 
     // 게시글 id로 게시글 작성자 userId 조회
     String selectAuthorIdById(@Param("id") Long id);
+
+    // id 목록으로 게시글 요약 조회 (검색 색인 결과용, 순서는 호출 측에서 맞춤)
+    List<PostSummaryResponseDTO> selectPostSummariesByIds(@Param("ids") List<Long> ids);
+
+    // 검색 색인용 게시글 조회 (삭제된 게시글이면 null)
+    PostSearchDocumentDTO selectPostSearchDocumentById(@Param("id") Long id);
+
+    // 검색 색인 전체 재구성용 게시글 조회 (afterId 이후 id 순)
+    List<PostSearchDocumentDTO> selectPostSearchDocuments(@Param("afterId") Long afterId,
+                                                          @Param("limit") int limit);
 }
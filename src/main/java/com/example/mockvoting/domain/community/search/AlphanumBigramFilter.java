@@ -0,0 +1,123 @@
+package com.example.mockvoting.domain.community.search;
+
+import org.apache.lucene.analysis.TokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 영문/숫자 어절 n-gram 필터
+ * - CJKBigramFilter 와 같은 방식으로 영문/숫자 어절을 2-gram 으로 나누어 "user" 로 "user123" 을 찾을 수 있게 한다.
+ * - 2-gram 은 각각 다른 위치에 두어 QueryBuilder 가 모든 2-gram 을 포함하는 문서(AND)로 검색하게 한다.
+ * - outputUnigrams 면 1-gram 도 함께 만든다. (색인용, 한 글자 검색어)
+ */
+final class AlphanumBigramFilter extends TokenFilter {
+
+    private static final String ALPHANUM_TYPE = StandardTokenizer.TOKEN_TYPES[StandardTokenizer.ALPHANUM];
+    private static final String NUM_TYPE = StandardTokenizer.TOKEN_TYPES[StandardTokenizer.NUM];
+
+    private final boolean outputUnigrams;
+
+    private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
+    private final OffsetAttribute offsetAtt = addAttribute(OffsetAttribute.class);
+    private final PositionIncrementAttribute posIncAtt = addAttribute(PositionIncrementAttribute.class);
+    private final TypeAttribute typeAtt = addAttribute(TypeAttribute.class);
+
+    // 현재 어절과 아직 내보내지 않은 gram 목록 (시작 위치, 길이, 위치 증가분)
+    private State tokenState;
+    private char[] term = new char[16];
+    private int termLength;
+    private int tokenStartOffset;
+    private boolean offsetsMatchTerm;
+    private int[] gramStarts = new int[32];
+    private int[] gramLengths = new int[32];
+    private int[] gramPosIncs = new int[32];
+    private int gramCount;
+    private int gramIndex;
+
+    AlphanumBigramFilter(TokenStream input, boolean outputUnigrams) {
+        super(input);
+        this.outputUnigrams = outputUnigrams;
+    }
+
+    @Override
+    public boolean incrementToken() throws IOException {
+        if (gramIndex < gramCount) {
+            emitGram();
+            return true;
+        }
+        if (!input.incrementToken()) {
+            return false;
+        }
+
+        String type = typeAtt.type();
+        if (termAtt.length() < 2 || !(ALPHANUM_TYPE.equals(type) || NUM_TYPE.equals(type))) {
+            return true;
+        }
+
+        tokenState = captureState();
+        termLength = termAtt.length();
+        if (term.length < termLength) {
+            term = new char[termLength];
+        }
+        System.arraycopy(termAtt.buffer(), 0, term, 0, termLength);
+        tokenStartOffset = offsetAtt.startOffset();
+        offsetsMatchTerm = offsetAtt.endOffset() - offsetAtt.startOffset() == termLength;
+        buildGrams(posIncAtt.getPositionIncrement());
+        emitGram();
+        return true;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        tokenState = null;
+        gramCount = 0;
+        gramIndex = 0;
+    }
+
+    // 색인: a, ab, b, bc, c (1-gram 마다 위치 증가) / 검색: ab, bc (2-gram 마다 위치 증가)
+    private void buildGrams(int firstPosInc) {
+        gramCount = 0;
+        gramIndex = 0;
+        for (int i = 0; i < termLength; i++) {
+            if (outputUnigrams) {
+                addGram(i, 1, gramCount == 0 ? firstPosInc : 1);
+            }
+            if (i + 1 < termLength) {
+                addGram(i, 2, gramCount == 0 ? firstPosInc : outputUnigrams ? 0 : 1);
+            }
+        }
+    }
+
+    private void addGram(int start, int length, int posInc) {
+        if (gramCount == gramStarts.length) {
+            gramStarts = Arrays.copyOf(gramStarts, gramCount * 2);
+            gramLengths = Arrays.copyOf(gramLengths, gramCount * 2);
+            gramPosIncs = Arrays.copyOf(gramPosIncs, gramCount * 2);
+        }
+        gramStarts[gramCount] = start;
+        gramLengths[gramCount] = length;
+        gramPosIncs[gramCount] = posInc;
+        gramCount++;
+    }
+
+    private void emitGram() {
+        restoreState(tokenState);
+        int start = gramStarts[gramIndex];
+        int length = gramLengths[gramIndex];
+        termAtt.copyBuffer(term, start, length);
+        posIncAtt.setPositionIncrement(gramPosIncs[gramIndex]);
+        // 정규화로 길이가 달라진 어절은 강조 표시 위치를 어절 전체로 둠
+        if (offsetsMatchTerm) {
+            offsetAtt.setOffset(tokenStartOffset + start, tokenStartOffset + start + length);
+        }
+        gramIndex++;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.mockvoting.domain.community.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * 한글 n-gram 분석기
+ * - 한글/한자/일본어 어절은 2-gram 으로 나누어 LIKE '%검색어%' 와 같은 부분 일치 검색을 색인으로 처리한다.
+ * - 색인 시에는 1-gram 도 함께 만들어 한 글자 검색어도 찾을 수 있게 한다. (검색 시에는 2-gram 만 사용)
+ * - 영문/숫자 어절도 소문자로 바꾼 뒤 같은 방식의 n-gram 으로 나눈다. (AlphanumBigramFilter)
+ */
+public class KoreanNGramAnalyzer extends Analyzer {
+
+    private static final int BIGRAM_SCRIPTS = CJKBigramFilter.HANGUL | CJKBigramFilter.HAN
+            | CJKBigramFilter.HIRAGANA | CJKBigramFilter.KATAKANA;
+
+    private final boolean outputUnigrams;
+
+    private KoreanNGramAnalyzer(boolean outputUnigrams) {
+        this.outputUnigrams = outputUnigrams;
+    }
+
+    /**
+     * 색인용 (1-gram + 2-gram)
+     */
+    public static KoreanNGramAnalyzer forIndex() {
+        return new KoreanNGramAnalyzer(true);
+    }
+
+    /**
+     * 검색어용 (2-gram, 한 글자 검색어만 1-gram)
+     */
+    public static KoreanNGramAnalyzer forQuery() {
+        return new KoreanNGramAnalyzer(false);
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer source = new StandardTokenizer();
+        TokenStream result = new CJKWidthFilter(source);
+        result = new LowerCaseFilter(result);
+        result = new AlphanumBigramFilter(result, outputUnigrams);
+        result = new CJKBigramFilter(result, BIGRAM_SCRIPTS, outputUnigrams);
+        return new TokenStreamComponents(source, result);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        return new LowerCaseFilter(new CJKWidthFilter(in));
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.mockvoting.domain.community.search;
+
+import com.example.mockvoting.domain.community.dto.PostSearchDocumentDTO;
+import com.example.mockvoting.domain.community.event.PostChangedEvent;
+import com.example.mockvoting.domain.community.mapper.PostMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 검색 색인 (Lucene 내장 역색인)
+ * - 제목/본문/작성자 닉네임을 한글 n-gram 으로 색인해 LIKE 전체 스캔 없이 검색하고, 관련도(BM25) 순으로 정렬한다.
+ * - 게시글 등록/수정/삭제 시 PostChangedEvent 를 받아 해당 게시글만 다시 색인한다. (트랜잭션 커밋 이후)
+ * - 색인 쓰기는 전용 스레드 하나에서 처리하고, 검색은 SearcherManager 로 최신 스냅샷을 읽는다.
+ * - 색인 재구성 중에는 isReady() 가 false 이므로 호출 측은 DB 검색으로 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_CATEGORY_ID = "categoryId";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_AUTHOR = "author";
+
+    private static final float TITLE_BOOST = 2.0f;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final Sort RELEVANCE_SORT = new Sort(SortField.FIELD_SCORE,
+            new SortField(FIELD_CREATED_AT, SortField.Type.LONG, true));
+
+    private final PostMapper postMapper;
+
+    private final Analyzer indexAnalyzer = KoreanNGramAnalyzer.forIndex();
+    private final QueryBuilder queryBuilder = new QueryBuilder(KoreanNGramAnalyzer.forQuery());
+
+    @Value("${post.search.enabled:true}")
+    private boolean enabled;
+
+    // 색인 경로 (README 로컬 데이터 디렉터리 참고, 비워 두면 색인 없이 DB 검색)
+    @Value("${post.search.index-dir:${user.dir}/data/post-index}")
+    private String directory;
+
+    // 시작 시 DB 기준으로 색인 재구성 (false 면 색인이 비어 있을 때만 재구성)
+    @Value("${post.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // 본문 강조 표시 조각 길이 (글자 수)
+    @Value("${post.search.fragment-size:100}")
+    private int fragmentSize;
+
+    private FSDirectory indexDirectory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ExecutorService worker;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        if (directory == null || directory.isBlank()) {
+            // isReady() 가 false 로 남으므로 검색은 DB(LIKE) 로 처리됨
+            log.warn("post.search.index-dir 가 비어 있어 게시글 검색 색인을 사용하지 않습니다. (DB 검색)");
+            return;
+        }
+        Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        indexDirectory = FSDirectory.open(path);
+        writer = new IndexWriter(indexDirectory, new IndexWriterConfig(indexAnalyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "post-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (rebuildOnStartup || writer.getDocStats().numDocs == 0) {
+            worker.execute(this::rebuild);
+        } else {
+            ready = true;
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+        try {
+            searcherManager.close();
+            writer.close();
+            indexDirectory.close();
+        } catch (IOException e) {
+            log.warn("게시글 검색 색인 닫기 실패", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 게시글 변경 반영 (커밋 이후 색인 스레드에서 DB 기준으로 다시 색인)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (worker == null) {
+            return;
+        }
+        worker.execute(() -> reindex(event.getPostId()));
+    }
+
+    /**
+     * 검색
+     * @param categoryIds 검색 대상 카테고리
+     * @param searchType title / content / title_content / author
+     * @return 지원하지 않는 검색 유형이면 null
+     */
+    public SearchResult search(Collection<Long> categoryIds, String searchType, String keyword,
+                               int offset, int limit) throws IOException {
+        Query keywordQuery = keywordQuery(searchType, keyword);
+        if (keywordQuery == null) {
+            return null;
+        }
+        if (categoryIds.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        Query query = new BooleanQuery.Builder()
+                .add(keywordQuery, BooleanClause.Occur.MUST)
+                .add(LongPoint.newSetQuery(FIELD_CATEGORY_ID, categoryIds), BooleanClause.Occur.FILTER)
+                .build();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int total = searcher.count(query);
+            if (offset >= total) {
+                return new SearchResult(List.of(), total);
+            }
+
+            TopFieldDocs top = searcher.search(query, offset + limit, RELEVANCE_SORT, true);
+            Highlighter titleHighlighter = highlighter(keywordQuery, FIELD_TITLE);
+            Highlighter contentHighlighter = highlighter(keywordQuery, FIELD_CONTENT);
+
+            List<SearchHit> hits = new ArrayList<>(limit);
+            ScoreDoc[] scoreDocs = top.scoreDocs;
+            for (int i = offset; i < scoreDocs.length; i++) {
+                Document doc = searcher.storedFields().document(scoreDocs[i].doc);
+                hits.add(new SearchHit(Long.valueOf(doc.get(FIELD_ID)),
+                        highlight(titleHighlighter, FIELD_TITLE, doc.get(FIELD_TITLE)),
+                        highlight(contentHighlighter, FIELD_CONTENT, doc.get(FIELD_CONTENT))));
+            }
+            return new SearchResult(hits, total);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 일정 주기로 색인 커밋 (변경마다 커밋하지 않음, 미커밋분은 재시작 시 재구성으로 복구)
+     */
+    @Scheduled(fixedDelayString = "${post.search.commit-interval-ms:10000}")
+    public void commit() {
+        if (writer == null || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            log.error("게시글 검색 색인 커밋 실패", e);
+        }
+    }
+
+    private Query keywordQuery(String searchType, String keyword) {
+        if (searchType == null) {
+            return null;
+        }
+        switch (searchType) {
+            case "title":
+                return fieldQuery(FIELD_TITLE, keyword);
+            case "content":
+                return fieldQuery(FIELD_CONTENT, keyword);
+            case "author":
+                return fieldQuery(FIELD_AUTHOR, keyword);
+            case "title_content":
+                return new BooleanQuery.Builder()
+                        .add(new BoostQuery(fieldQuery(FIELD_TITLE, keyword), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                        .add(fieldQuery(FIELD_CONTENT, keyword), BooleanClause.Occur.SHOULD)
+                        .build();
+            default:
+                return null;
+        }
+    }
+
+    // 검색어의 모든 n-gram 을 포함하는 문서 (LIKE '%검색어%' 에 해당)
+    private Query fieldQuery(String field, String keyword) {
+        Query query = queryBuilder.createBooleanQuery(field, keyword, BooleanClause.Occur.MUST);
+        // 토큰이 없는 검색어(특수문자만 입력 등)는 일치하는 문서 없음
+        return query == null ? new BooleanQuery.Builder().build() : query;
+    }
+
+    private Highlighter highlighter(Query query, String field) {
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"),
+                new SimpleHTMLEncoder(), new QueryScorer(query, field));
+        highlighter.setTextFragmenter(new SimpleFragmenter(fragmentSize));
+        return highlighter;
+    }
+
+    // 검색어가 포함되지 않은 필드면 null
+    private String highlight(Highlighter highlighter, String field, String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return highlighter.getBestFragment(indexAnalyzer, field, text);
+        } catch (Exception e) {
+            log.warn("검색 결과 강조 표시 실패: field={}", field, e);
+            return null;
+        }
+    }
+
+    private void reindex(Long postId) {
+        try {
+            PostSearchDocumentDTO post = postMapper.selectPostSearchDocumentById(postId);
+            if (post == null) {
+                writer.deleteDocuments(new Term(FIELD_ID, String.valueOf(postId)));
+            } else {
+                writer.updateDocument(new Term(FIELD_ID, String.valueOf(postId)), toDocument(post));
+            }
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            log.error("게시글 검색 색인 갱신 실패: postId={}", postId, e);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            writer.deleteAll();
+            long afterId = 0;
+            int count = 0;
+            while (true) {
+                List<PostSearchDocumentDTO> posts = postMapper.selectPostSearchDocuments(afterId, REBUILD_BATCH_SIZE);
+                for (PostSearchDocumentDTO post : posts) {
+                    writer.addDocument(toDocument(post));
+                }
+                count += posts.size();
+                if (posts.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = posts.get(posts.size() - 1).getId();
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+            ready = true;
+            log.info("게시글 검색 색인 재구성 완료: 게시글={}, 소요={}ms", count, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("게시글 검색 색인 재구성 실패, DB 검색으로 처리", e);
+        }
+    }
+
+    private Document toDocument(PostSearchDocumentDTO post) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, String.valueOf(post.getId()), Field.Store.YES));
+        doc.add(new LongPoint(FIELD_CATEGORY_ID, post.getCategoryId()));
+        doc.add(new NumericDocValuesField(FIELD_CREATED_AT, post.getCreatedAt() == null ? 0
+                : post.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        doc.add(new TextField(FIELD_TITLE, post.getTitle(), Field.Store.YES));
+        // 본문은 HTML 태그를 제거한 텍스트로 색인/저장 (강조 표시 조각에 태그가 섞이지 않도록)
+        doc.add(new TextField(FIELD_CONTENT, Jsoup.parse(post.getContent() == null ? "" : post.getContent()).text(),
+                Field.Store.YES));
+        if (post.getAuthorNickname() != null) {
+            doc.add(new TextField(FIELD_AUTHOR, post.getAuthorNickname(), Field.Store.NO));
+        }
+        return doc;
+    }
+
+    public record SearchHit(Long postId, String titleHighlight, String contentHighlight) {
+    }
+
+    public record SearchResult(List<SearchHit> hits, int total) {
+    }
+}
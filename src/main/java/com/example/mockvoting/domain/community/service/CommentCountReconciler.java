@@ -0,0 +1,48 @@
+package com.example.mockvoting.domain.community.service;
+
+import com.example.mockvoting.domain.community.mapper.PostMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 댓글 수(post.comment_count) 보정
+ * - 댓글 등록/삭제 시 같은 트랜잭션에서 증감하므로 평소에는 맞지만, 직접 수정된 데이터나 컬럼 추가 직후 값을 post_comment 기준으로 맞춘다.
+ * - 게시글 id 구간 단위로 값이 다른 게시글만 찾고(잠금 없음), 게시글마다 UPDATE 한 번으로 다시 센다.
+ *   재계산 UPDATE 는 게시글 행과 댓글 행을 잠그고 최신 커밋 기준으로 세므로 동시에 진행 중인 댓글 등록/삭제를 덮어쓰지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentCountReconciler {
+
+    private final PostMapper postMapper;
+
+    @Value("${post.comment-count.reconcile-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${post.comment-count.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${post.comment-count.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            Long maxId = postMapper.selectMaxId();
+            if (maxId == null) {
+                return;
+            }
+
+            int corrected = 0;
+            for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+                for (Long postId : postMapper.selectCommentCountMismatchIds(fromId, Math.min(fromId + batchSize, maxId))) {
+                    corrected += postMapper.recountCommentCountById(postId);
+                }
+            }
+            if (corrected > 0) {
+                log.info("게시글 댓글 수 보정 완료: 보정된 게시글={}", corrected);
+            }
+        } catch (Exception e) {
+            log.error("게시글 댓글 수 보정 실패, 다음 주기에 재시도", e);
+        }
+    }
+}
@@ -169,6 +169,9 @@ public class PostCommentService {
 
         Long id = postCommentRepository.save(postComment).getId();
 
+        // 게시글 댓글 수 증가 (같은 트랜잭션)
+        postMapper.updateCommentCountById(PostId, 1);
+
         return id;
     }
 
@@ -184,7 +187,10 @@ public class PostCommentService {
             throw new SecurityException("댓글 삭제 권한이 없습니다");
         }
 
-        comment.setDeleted(true);
+        // 실제로 삭제 처리한 요청만 댓글 수를 줄임 (이미 삭제됐거나 동시 요청이 먼저 삭제한 경우 0)
+        if (postCommentMapper.softDeleteById(commentId) == 1) {
+            postMapper.updateCommentCountById(comment.getPostId(), -1);
+        }
     }
 
     /**
@@ -0,0 +1,52 @@
+package com.example.mockvoting.domain.community.service;
+
+import com.example.mockvoting.domain.community.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 카테고리별 게시글 수 캐시
+ * - 목록 페이지마다 COUNT(*) 를 실행하지 않고 TTL 동안 캐시한 값을 사용한다. (근사값)
+ * - 이 인스턴스에서 게시글이 등록/삭제되면 커밋 이후 바로 비우고, 다른 인스턴스의 변경은 TTL 이 지나면 반영된다.
+ */
+@Component
+public class PostCountCache {
+
+    @Value("${post.count.cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    // 카테고리 코드(all 포함) → 게시글 수
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public int get(String categoryCode, Supplier<Integer> loader) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(categoryCode);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.count;
+        }
+
+        Integer count = loader.get();
+        int value = count == null ? 0 : count;
+        counts.put(categoryCode, new CachedCount(value, now + ttlMs));
+        return value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        counts.clear();
+    }
+
+    private static class CachedCount {
+        private final int count;
+        private final long expiresAt;
+
+        private CachedCount(int count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.mockvoting.domain.community.dto.*;
 import com.example.mockvoting.domain.community.entity.CommunityVote;
 import com.example.mockvoting.domain.community.entity.Post;
 import com.example.mockvoting.domain.community.entity.PostAttachment;
+import com.example.mockvoting.domain.community.event.PostChangedEvent;
 import com.example.mockvoting.domain.community.mapper.CategoryMapper;
 import com.example.mockvoting.domain.community.mapper.CommunityVoteMapper;
 import com.example.mockvoting.domain.community.mapper.PostAttachmentMapper;
@@ -11,25 +12,34 @@ import com.example.mockvoting.domain.community.mapper.PostMapper;
 import com.example.mockvoting.domain.community.mapper.converter.PostDtoMapper;
 import com.example.mockvoting.domain.community.repository.PostAttachmentRepository;
 import com.example.mockvoting.domain.community.repository.PostRepository;
+import com.example.mockvoting.domain.community.search.PostSearchIndex;
 import com.example.mockvoting.domain.gcs.service.GcsService;
 import com.example.mockvoting.domain.spamcheck.service.CaptchaService;
+import com.example.mockvoting.exception.CustomException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.Duration;
-import java.util.Arrays;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostService {
@@ -42,54 +52,42 @@ public class PostService {
     private final PostDtoMapper postDtoMapper;
     private final GcsService gcsService;
     private final CaptchaService captchaService;
-    private final StringRedisTemplate stringRedisTemplate;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostCountCache postCountCache;
+    private final PostViewCounter postViewCounter;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
 
     /**
      *  게시글 상세 조회
+     *  조회수는 Redis 에만 기록하고 주기적으로 DB 에 반영 (PostViewCounter)
+     *  @param viewer 조회수 중복 제외 기준 (로그인 사용자 ID, 비로그인 시 IP)
      */
-    @Transactional
-    public PostDetailViewDTO getPostDetail(Long id, String userId) {
-//        // 1) 조회 여부 판단 - 조회하는 게시글이 이전에 사용자가 조회한 게시글인가?
-//        List<String> viewedList = viewedPostIds.isEmpty()
-//                ? Collections.emptyList()
-//                : Arrays.asList(viewedPostIds.split("-"));
-//        boolean alreadyViewed = viewedList.contains(id.toString());
-//
-//        String updatedViewedPostIds = null;
-//        if (!alreadyViewed) {
-//            // 2) 조회수 증가
-//            postMapper.updateViewCountById(id);
-//            // 3) 쿠키에 담을 새 값 계산
-//            updatedViewedPostIds = viewedPostIds.isEmpty()
-//                    ? id.toString()
-//                    : viewedPostIds + "-" + id;
-//        }
+    @Transactional(readOnly = true)
+    public PostDetailViewDTO getPostDetail(Long id, String userId, String viewer) {
+        // 1) 게시글 조회
+        PostDetailResponseDTO detail = postMapper.selectPostDetailById(id);
+        if (detail == null) {
+            // 없는 게시글은 조회수를 기록하지 않음
+            throw new CustomException("게시글을 찾을 수 없습니다.", HttpStatus.NOT_FOUND);
+        }
 
-        // 반드시 수정 필요 일단 주석 처리
-//        boolean alreadyViewed = false;
-//        if (userId != null) {
-//            String key = "viewed:" + userId;
-//            alreadyViewed = Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(key, id.toString()));
-//            if (!alreadyViewed) {
-//                postMapper.updateViewCountById(id);
-//                stringRedisTemplate.opsForSet().add(key, id.toString());
-//                stringRedisTemplate.expire(key, Duration.ofHours(12));
-//            }
-//        }
+        // 2) 조회수 기록 (조회자별 중복 제외, DB 쓰기 없음) 및 아직 반영되지 않은 조회수 합산
+        long pendingViews = postViewCounter.recordView(id, userId != null ? "user:" + userId : "ip:" + viewer);
+        detail.setViews((detail.getViews() == null ? 0 : detail.getViews()) + (int) pendingViews);
 
-        // 4) 게시글 조회
-        PostDetailResponseDTO detail = postMapper.selectPostDetailById(id);
-        // 4-1) 익명 게시글이면 닉네임 가공
+        // 3) 익명 게시글이면 닉네임 가공
         boolean isAnonymous = categoryMapper.selectIsAnonymousByCode(detail.getCategoryCode());
         if(isAnonymous) {
             detail.setAuthorNickname("익명");
         }
 
-        // 5) 첨부파일 조회
+        // 4) 첨부파일 조회
         List<PostAttachmentResponseDTO> attachments = postAttachmentMapper.selectAttachmentsByPostId(id);
         detail.setAttachments(attachments);
 
-        // [옵션] 6) 사용자 투표 정보 조회
+        // [옵션] 5) 사용자 투표 정보 조회
         if(userId != null) {
             Byte vote = communityVoteMapper.selectVoteByVoterAndTarget(
                     userId,
@@ -99,10 +97,6 @@ public class PostService {
             detail.setUserVote(vote);   // detail DTO에 사용자 투표 여부 정의 (1/-1/null)
         }
 
-//        return PostDetailViewDTO.builder()
-//                .post(detail)
-//                .newViewedPostIds(updatedViewedPostIds)
-//                .build();
         return PostDetailViewDTO.builder()
                 .post(detail)
                 .newViewedPostIds(null)
@@ -135,11 +129,19 @@ public class PostService {
         int offset = (int) pageable.getOffset();
         int limit = (int) pageable.getPageSize();
 
+        // 검색어가 있으면 검색 색인으로 조회 (색인 준비 전이거나 실패 시 DB 검색)
+        if (keyword != null && !keyword.isBlank() && postSearchIndex.isReady()) {
+            Page<PostSummaryResponseDTO> page = searchPosts(categoryCode, pageable, searchType, keyword);
+            if (page != null) {
+                return page;
+            }
+        }
+
         List<PostSummaryResponseDTO> posts;
         int total;
         if("all".equals(categoryCode)) {    // 활성화된 카테고리에 속한 게시글 전체 조회
             posts = postMapper.selectPostsFromActiveCategories(offset, limit, searchType, keyword);
-            total = categoryMapper.selectPostCountFromActiveCategories(searchType, keyword);
+            total = countPosts(categoryCode, searchType, keyword);
 
             // 각 게시글의 카테고리에 따라 익명 처리
             for (PostSummaryResponseDTO post : posts) {
@@ -151,7 +153,7 @@ public class PostService {
 
         }else{  // 카테고리별 게시글 조회
             posts = postMapper.selectPostsByCategory(categoryCode, offset, limit, searchType, keyword);
-            total = categoryMapper.selectPostCountByCategoryWithSearch(categoryCode, searchType, keyword);
+            total = countPosts(categoryCode, searchType, keyword);
 
             // 익명 처리
             boolean isAnonymous = categoryMapper.selectIsAnonymousByCode(categoryCode);
@@ -165,6 +167,132 @@ public class PostService {
         return new PageImpl<>(posts, pageable, total);
     }
 
+    /**
+     *  카테고리별 게시글 커서 조회 (무한 스크롤용)
+     *  cursor 는 이전 응답의 nextCursor, 첫 페이지는 null
+     *  OFFSET 대신 (created_at, id) 기준으로 조회하므로 페이지 깊이와 무관하게 일정한 비용으로 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public PostCursorPageDTO getPostsByCategoryCursor(String categoryCode, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            PostCursor decoded = PostCursor.decode(cursor);
+            cursorCreatedAt = decoded.createdAt();
+            cursorId = decoded.id();
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<PostSummaryResponseDTO> posts;
+        if ("all".equals(categoryCode)) {
+            posts = postMapper.selectPostsFromActiveCategoriesBefore(cursorCreatedAt, cursorId, limit + 1);
+
+            Set<Long> anonymousCategoryIds = categoryMapper.selectAllCategories().stream()
+                    .filter(category -> Boolean.TRUE.equals(category.getIsAnonymous()))
+                    .map(CategoryResponseDTO::getId)
+                    .collect(Collectors.toSet());
+            for (PostSummaryResponseDTO post : posts) {
+                if (anonymousCategoryIds.contains(post.getCategoryId())) {
+                    post.setAuthorNickname("익명");
+                }
+            }
+        } else {
+            posts = postMapper.selectPostsByCategoryBefore(categoryCode, cursorCreatedAt, cursorId, limit + 1);
+
+            if (categoryMapper.selectIsAnonymousByCode(categoryCode)) {
+                posts.forEach(post -> post.setAuthorNickname("익명"));
+            }
+        }
+
+        boolean hasNext = posts.size() > limit;
+        if (hasNext) {
+            posts = new ArrayList<>(posts.subList(0, limit));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSummaryResponseDTO last = posts.get(posts.size() - 1);
+            nextCursor = new PostCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return PostCursorPageDTO.builder()
+                .posts(posts)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalCount(countPosts(categoryCode, null, null))
+                .build();
+    }
+
+    /**
+     *  게시글 수 조회 (검색어가 없으면 캐시된 근사값)
+     */
+    private int countPosts(String categoryCode, String searchType, String keyword) {
+        boolean all = "all".equals(categoryCode);
+        if (keyword == null || keyword.isBlank()) {
+            return postCountCache.get(categoryCode, () -> all
+                    ? categoryMapper.selectPostCountFromActiveCategories(null, null)
+                    : categoryMapper.selectPostCountByCategoryWithSearch(categoryCode, null, null));
+        }
+        Integer count = all
+                ? categoryMapper.selectPostCountFromActiveCategories(searchType, keyword)
+                : categoryMapper.selectPostCountByCategoryWithSearch(categoryCode, searchType, keyword);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     *  검색 색인 기반 게시글 검색 (관련도순, 제목/본문 강조 표시 포함)
+     *  지원하지 않는 검색 유형이거나 색인 조회에 실패하면 null
+     */
+    private Page<PostSummaryResponseDTO> searchPosts(String categoryCode, Pageable pageable, String searchType, String keyword) {
+        // 검색 대상 카테고리 (작성자 검색은 익명 게시판 제외)
+        Map<Long, CategoryResponseDTO> categories = categoryMapper.selectAllCategories().stream()
+                .filter(category -> "all".equals(categoryCode)
+                        ? Boolean.TRUE.equals(category.getIsActive())
+                        : category.getCode().equals(categoryCode))
+                .filter(category -> !"author".equals(searchType) || !Boolean.TRUE.equals(category.getIsAnonymous()))
+                .collect(Collectors.toMap(CategoryResponseDTO::getId, Function.identity()));
+
+        PostSearchIndex.SearchResult result;
+        try {
+            result = postSearchIndex.search(categories.keySet(), searchType, keyword.trim(),
+                    (int) pageable.getOffset(), pageable.getPageSize());
+        } catch (IOException e) {
+            log.error("게시글 검색 색인 조회 실패, DB 검색으로 처리: keyword={}", keyword, e);
+            return null;
+        }
+        if (result == null) {
+            return null;
+        }
+        if (result.hits().isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, result.total());
+        }
+
+        List<Long> ids = result.hits().stream().map(PostSearchIndex.SearchHit::postId).collect(Collectors.toList());
+        Map<Long, PostSummaryResponseDTO> summaries = postMapper.selectPostSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(PostSummaryResponseDTO::getId, Function.identity()));
+
+        // 색인 관련도 순서 유지
+        List<PostSummaryResponseDTO> posts = new ArrayList<>(ids.size());
+        for (PostSearchIndex.SearchHit hit : result.hits()) {
+            PostSummaryResponseDTO post = summaries.get(hit.postId());
+            if (post == null) {
+                continue;   // 색인 반영 전에 삭제된 게시글
+            }
+            post.setTitleHighlight(hit.titleHighlight());
+            post.setContentHighlight(hit.contentHighlight());
+
+            CategoryResponseDTO category = categories.get(post.getCategoryId());
+            if (category != null && Boolean.TRUE.equals(category.getIsAnonymous())) {
+                post.setAuthorNickname("익명");
+            }
+            posts.add(post);
+        }
+
+        return new PageImpl<>(posts, pageable, result.total());
+    }
+
     /**
      *  게시글 등록
      */
@@ -203,6 +331,7 @@ public class PostService {
         }
 
         Long id = postRepository.save(post).getId();
+        eventPublisher.publishEvent(new PostChangedEvent(id));
 
         if (files != null && !files.isEmpty()) {
             for (MultipartFile file : files) {
@@ -238,6 +367,7 @@ public class PostService {
 
         // 게시글 soft delete
         post.setDeleted(true);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
 
         // 첨부파일 soft delete
         List<PostAttachment> attachments = postAttachmentRepository.findByPostId(postId);
@@ -266,6 +396,7 @@ public class PostService {
 
         // 게시글 내용 업데이트
         post.update(dto.getTitle(), dto.getContent(), thumbnail);
+        eventPublisher.publishEvent(new PostChangedEvent(id));
 
         // 삭제된 파일 처리
         if (dto.getDeleteAttachmentIds() != null && !dto.getDeleteAttachmentIds().isEmpty()) {
@@ -0,0 +1,168 @@
+package com.example.mockvoting.domain.community.service;
+
+import com.example.mockvoting.domain.community.mapper.PostMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 게시글 조회수 집계
+ * - 조회 시 (조회자, 게시글)별 만료 키로 중복을 제외하고, 조회수 증가분은 Redis 해시(post:views:pending)에만 누적한다.
+ * - 누적분은 주기적으로 post.views 에 다중 행 UPDATE 로 반영하므로 게시글 조회에서 DB 쓰기가 발생하지 않는다.
+ * - 반영은 소유 토큰으로 잠금을 잡은 인스턴스 하나만 수행하고, 반영할 해시마다 batch ID 를 붙여
+ *   post_view_batch 에 같은 트랜잭션으로 기록한다. 반영 후 Redis 정리가 실패하거나 잠금이 만료되어
+ *   같은 batch 를 다시 받더라도 이미 기록된 batch 는 건너뛴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostViewCounter {
+
+    private static final String VIEWED_KEY_PREFIX = "post:viewed:";
+    private static final String PENDING_KEY = "post:views:pending";
+    private static final String PROCESSING_KEY = "post:views:processing";
+    private static final String LOCK_KEY = "post:views:lock";
+    private static final String BATCH_KEY = "post:views:batch";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final PostMapper postMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final RedisScript<Long> recordViewScript =
+            RedisScript.of(new ClassPathResource("redis/record_view.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> claimViewsScript =
+            RedisScript.of(new ClassPathResource("redis/claim_views.lua"), List.class);
+    private final RedisScript<Long> finishViewsScript =
+            RedisScript.of(new ClassPathResource("redis/finish_views.lua"), Long.class);
+
+    // 같은 조회자의 재조회를 집계하지 않는 기간
+    @Value("${post.view.dedup-ttl-seconds:43200}")
+    private long dedupTtlSeconds;
+
+    // UPDATE 한 번에 반영할 게시글 수
+    @Value("${post.view.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    // 반영 잠금 유지 시간 (반영이 이보다 오래 걸리면 다른 인스턴스가 같은 batch 를 다시 받을 수 있음)
+    @Value("${post.view.flush-lock-ms:60000}")
+    private long flushLockMs;
+
+    // 반영 기록(post_view_batch) 보관 기간
+    @Value("${post.view.batch-retention-hours:24}")
+    private long batchRetentionHours;
+
+    /**
+     * 조회 기록
+     * @param viewer 조회자 식별값 (사용자 ID 또는 IP)
+     * @return 아직 DB 에 반영되지 않은 조회수 (Redis 오류 시 0)
+     */
+    public long recordView(Long postId, String viewer) {
+        try {
+            Long pending = redisTemplate.execute(recordViewScript,
+                    List.of(VIEWED_KEY_PREFIX + viewer + ":" + postId, PENDING_KEY, PROCESSING_KEY),
+                    String.valueOf(postId), String.valueOf(dedupTtlSeconds));
+            return pending == null ? 0 : pending;
+        } catch (Exception e) {
+            // 조회수 집계 실패로 게시글 조회가 실패하지 않도록 함
+            log.warn("게시글 조회수 기록 실패: postId={}", postId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 누적된 조회수를 post.views 에 반영
+     */
+    @Scheduled(fixedDelayString = "${post.view.flush-interval-ms:5000}")
+    public void flush() {
+        String token = instanceId + ":" + UUID.randomUUID();
+        List<String> entries;
+        try {
+            @SuppressWarnings("unchecked")
+            List<String> claimed = redisTemplate.execute(claimViewsScript,
+                    List.of(PENDING_KEY, PROCESSING_KEY, LOCK_KEY, BATCH_KEY),
+                    token, String.valueOf(flushLockMs), UUID.randomUUID().toString());
+            entries = claimed;
+        } catch (Exception e) {
+            log.error("게시글 조회수 선점 실패, 다음 주기에 재시도", e);
+            return;
+        }
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+
+        boolean done = false;
+        try {
+            String batchId = entries.get(0);
+
+            // HGETALL 결과 (게시글 ID, 증가분, ...) 를 batch 단위로 나눔
+            List<Map<Long, Long>> batches = new ArrayList<>();
+            Map<Long, Long> batch = new LinkedHashMap<>();
+            for (int i = 1; i + 1 < entries.size(); i += 2) {
+                batch.put(Long.valueOf(entries.get(i)), Long.valueOf(entries.get(i + 1)));
+                if (batch.size() >= flushBatchSize) {
+                    batches.add(batch);
+                    batch = new LinkedHashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+            }
+
+            // batch 기록과 조회수 증가를 한 트랜잭션으로 반영해야 재시도 시 중복 반영되지 않음
+            Boolean applied = transactionTemplate.execute(status -> {
+                if (postMapper.insertViewBatch(batchId) == 0) {
+                    return false;
+                }
+                batches.forEach(postMapper::addViewCounts);
+                return true;
+            });
+            done = true;
+            log.debug("게시글 조회수 반영 완료: batchId={}, 게시글={}, 신규 반영={}",
+                    batchId, (entries.size() - 1) / 2, applied);
+        } catch (Exception e) {
+            log.error("게시글 조회수 반영 실패, 다음 주기에 재시도", e);
+        } finally {
+            finish(token, done);
+        }
+    }
+
+    /**
+     * 오래된 반영 기록 정리
+     */
+    @Scheduled(fixedDelayString = "${post.view.batch-cleanup-interval-ms:3600000}")
+    public void purgeAppliedBatches() {
+        try {
+            int deleted = postMapper.deleteViewBatchesBefore(LocalDateTime.now().minusHours(batchRetentionHours));
+            log.debug("게시글 조회수 반영 기록 정리: {}건", deleted);
+        } catch (Exception e) {
+            log.error("게시글 조회수 반영 기록 정리 실패", e);
+        }
+    }
+
+    // 잠금 해제 (반영이 끝났으면 처리 중 해시도 삭제)
+    private void finish(String token, boolean done) {
+        try {
+            redisTemplate.execute(finishViewsScript, List.of(PROCESSING_KEY, LOCK_KEY, BATCH_KEY),
+                    token, done ? "1" : "0");
+        } catch (Exception e) {
+            // 잠금은 만료 후 풀리고, 남은 처리 중 해시는 batch 기록으로 중복 반영되지 않음
+            log.error("게시글 조회수 반영 잠금 해제 실패", e);
+        }
+    }
+}
@@ -43,4 +43,20 @@ public class SpamCheckController {
             return ResponseEntity.internalServerError().body(ApiResponse.error("도배 판단 실패"));
         }
     }
+
+    /**
+     * 비속어 포함 여부 판단 (게시글/댓글 공용)
+     */
+    @PostMapping("/profanity")
+    public ResponseEntity<ApiResponse<Boolean>> checkProfanity(@RequestParam(required = false) String title,
+                                                               @RequestParam String content
+    ) {
+        try {
+            boolean containsProfanity = spamCheckService.containsProfanity(title, content);
+            return ResponseEntity.ok(ApiResponse.success("비속어 판단 성공", containsProfanity));
+        } catch (Exception e) {
+            log.error("비속어 판단 요청 처리 실패", e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error("비속어 판단 실패"));
+        }
+    }
 }
@@ -3,8 +3,10 @@ package com.example.mockvoting.domain.spamcheck.service;
 import com.example.mockvoting.domain.spamcheck.dto.PostContentCheckDTO;
 import com.example.mockvoting.domain.spamcheck.mapper.SpamCheckMapper;
 import com.example.mockvoting.domain.spamcheck.model.SpamCheckType;
+import com.example.mockvoting.util.ProfanityMatcher;
 import com.example.mockvoting.util.SpamSimilarityUtil;
 import lombok.RequiredArgsConstructor;
+import org.jsoup.Jsoup;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,6 +17,15 @@ import java.util.List;
 public class SpamCheckService {
     private final SpamCheckMapper spamCheckMapper;
     private final SpamSimilarityUtil similarityUtil;
+    private final ProfanityMatcher profanityMatcher;
+
+    /**
+     * 비속어 포함 여부 판단 (게시글/댓글 공용, HTML 태그 제외)
+     */
+    public boolean containsProfanity(String title, String content) {
+        if (profanityMatcher.containsProfanity(title)) return true;
+        return content != null && profanityMatcher.containsProfanity(Jsoup.parse(content).text());
+    }
 
     /**
      * 도배 의심 여부 판단 (게시글/댓글 공용)
@@ -4,6 +4,8 @@ import com.example.mockvoting.domain.user.entity.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Mapper
@@ -14,6 +16,9 @@ public interface UserMapper {
     // 사용자ID로 사용자 조회
     Optional<User> findByUserId(String userId);
 
+    // 사용자ID 목록으로 사용자 일괄 조회
+    List<User> findByUserIds(@Param("userIds") Collection<String> userIds);
+
     // 이메일로 사용자 조회
     Optional<User> findByEmail(String email);
 
@@ -27,6 +32,9 @@ public interface UserMapper {
     // 사용자 투표 상태 업데이트
     void updateUserElectionStatus(@Param("userId") String userId, @Param("isElection") boolean isElection);
 
+    // 아직 투표하지 않은 사용자만 투표 완료 처리 (갱신된 행 수 반환)
+    int markElectionVoted(@Param("userId") String userId);
+
     // 사용자 토큰 발급 상태 업데이트
     void updateUserTokenStatus(@Param("userId") String userId, @Param("hasReceivedToken") boolean hasReceivedToken);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.mockvoting.domain.voting.controller;
 
+import com.example.mockvoting.domain.voting.dto.ElectionResultsDTO;
 import com.example.mockvoting.domain.voting.dto.VotingCardDTO;
 import com.example.mockvoting.domain.voting.dto.PartyPolicyDTO;
 import com.example.mockvoting.domain.voting.dto.VotingRequestDTO;
@@ -104,6 +105,26 @@ public class VotingController {
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
 
+    /**
+     * 선거 결과 조회 API - 후보별 결과와 정당별 집계를 한 번에 반환
+     */
+    @GetMapping("/{sgId}/results")
+    public ResponseEntity<ApiResponse<ElectionResultsDTO>> getElectionResults(@PathVariable String sgId) {
+        ElectionResultsDTO results = votingService.getElectionResults(sgId);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    /**
+     * 정당별 득표율 조회 API
+     */
+    @GetMapping("/{sgId}/party-percentage")
+    public ResponseEntity<ApiResponse<Double>> getPartyPercentage(
+            @PathVariable String sgId,
+            @RequestParam String partyName) {
+        double percentage = votingService.getPartyPercentage(sgId, partyName);
+        return ResponseEntity.ok(ApiResponse.success(percentage));
+    }
+
     /**
      * 사용자 투표 상태 확인 API
      */
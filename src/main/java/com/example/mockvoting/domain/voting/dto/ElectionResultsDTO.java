@@ -0,0 +1,30 @@
+package com.example.mockvoting.domain.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ElectionResultsDTO {
+    private String sgId;
+    private Long totalVotes;
+    private Double participation;
+    private List<VotingStatsDTO.CandidateVoteDTO> votes;
+    private List<PartyVoteDTO> parties;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PartyVoteDTO {
+        private String partyName;
+        private Double percentage;
+        private Long voteCount;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.mockvoting.domain.voting.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+@Builder
+public class ElectionSummary {    // 선거별 득표 요약 (VoteTallyService 집계 스냅샷)
+    String sgId;
+    long version;                  // 집계 변경 버전
+    long totalVotes;               // 전체 투표 수
+    Map<Integer, Long> voteCounts; // 후보(공약) ID별 득표 수
+
+    public long getVoteCount(Integer candidateId) {
+        return voteCounts.getOrDefault(candidateId, 0L);
+    }
+
+    public double percentageOf(long votes) {
+        return totalVotes > 0 ? votes * 100.0 / totalVotes : 0.0;
+    }
+}
@@ -39,6 +39,9 @@ public interface VotingMapper {
     // 모든 후보의 백분율 원자적 업데이트
     void updateAllPercentages(@Param("sgId") String sgId);
 
+    // 후보별 투표 수 증가분 일괄 반영 (투표 집계 flush용)
+    int addVoteCounts(@Param("sgId") String sgId, @Param("deltas") List<VotingStats> deltas);
+
     // 활성화된 모든 투표 ID 조회 (스케줄링용)
 //    List<String> findAllActiveVotingIds();
 
@@ -0,0 +1,59 @@
+package com.example.mockvoting.domain.voting.service;
+
+import com.example.mockvoting.config.InstanceLeaderLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 선거 결과 발행
+ * - 집계가 바뀐 선거만 /topic/election/{sgId}/results 로 스냅샷을 발행한다.
+ * - 발행 주기(voting.results.publish-interval-ms, 기본 500ms) 사이의 득표는 하나의 스냅샷으로 합쳐지므로
+ *   선거당 주기마다 최대 1회만 발행된다.
+ * - 다중 인스턴스에서는 리더 인스턴스만 발행한다. 리더는 투표 원장도 혼자 반영하므로
+ *   다른 인스턴스의 득표까지 집계에 포함되어 구독자가 서로 다른 스냅샷을 받지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ElectionResultPublisher {
+
+    private final VoteTallyService voteTallyService;
+    private final VotingService votingService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final InstanceLeaderLease instanceLeaderLease;
+
+    // 선거별 마지막으로 발행한 집계 버전
+    private final Map<String, Long> publishedVersions = new ConcurrentHashMap<>();
+
+    public static String destination(String sgId) {
+        return "/topic/election/" + sgId + "/results";
+    }
+
+    @Scheduled(fixedRateString = "${voting.results.publish-interval-ms:500}")
+    public void publishChangedResults() {
+        if (!instanceLeaderLease.isLeader()) {
+            // 리더가 되면 현재 스냅샷을 다시 발행하도록 초기화
+            publishedVersions.clear();
+            return;
+        }
+
+        voteTallyService.getVersions().forEach((sgId, version) -> {
+            if (version.equals(publishedVersions.get(sgId))) {
+                return;
+            }
+
+            try {
+                messagingTemplate.convertAndSend(destination(sgId), votingService.getVotingStats(sgId));
+                publishedVersions.put(sgId, version);
+            } catch (Exception e) {
+                log.error("선거 결과 발행 실패: sgId={}", sgId, e);
+            }
+        });
+    }
+}
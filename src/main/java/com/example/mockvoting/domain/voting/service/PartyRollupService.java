@@ -0,0 +1,122 @@
+package com.example.mockvoting.domain.voting.service;
+
+import com.example.mockvoting.domain.voting.dto.ElectionResultsDTO;
+import com.example.mockvoting.domain.voting.dto.ElectionSummary;
+import com.example.mockvoting.domain.voting.dto.PartyPolicyDTO;
+import com.example.mockvoting.domain.voting.mapper.VotingMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 정당별 득표 집계
+ * - 득표 요약을 한 번 순회해 모든 정당의 득표를 합산하고, 집계 버전이 바뀔 때까지 선거별로 캐시한다.
+ * - 공약(party_policy.id) -> 정당 이름 매핑은 선거별로 한 번만 조회한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartyRollupService {
+
+    private final VotingMapper votingMapper;
+    private final VoteTallyService voteTallyService;
+
+    // 선거별 공약 ID -> 정당 이름
+    private final Map<String, Map<Integer, String>> policyParties = new ConcurrentHashMap<>();
+    // 선거별 마지막 정당 집계
+    private final Map<String, PartyRollup> rollups = new ConcurrentHashMap<>();
+
+    /**
+     * 정당별 득표 집계 조회 (득표 수 내림차순)
+     */
+    public List<ElectionResultsDTO.PartyVoteDTO> getPartyVotes(String sgId) {
+        return getPartyVotes(voteTallyService.getSummary(sgId));
+    }
+
+    /**
+     * 주어진 득표 요약 기준 정당별 득표 집계 (호출 측의 다른 값과 같은 스냅샷으로 계산)
+     */
+    public List<ElectionResultsDTO.PartyVoteDTO> getPartyVotes(ElectionSummary summary) {
+        PartyRollup rollup = rollups.get(summary.getSgId());
+        if (rollup != null && rollup.version == summary.getVersion()) {
+            return rollup.parties;
+        }
+
+        PartyRollup computed = new PartyRollup(summary.getVersion(), rollUp(summary));
+        // 더 최신 버전의 집계가 이미 캐시되어 있으면 덮어쓰지 않음
+        rollups.merge(summary.getSgId(), computed,
+                (current, candidate) -> candidate.version > current.version ? candidate : current);
+        return computed.parties;
+    }
+
+    /**
+     * 특정 정당 득표율 조회
+     */
+    public double getPartyPercentage(String sgId, String partyName) {
+        return getPartyVotes(sgId).stream()
+                .filter(party -> party.getPartyName().equals(partyName))
+                .mapToDouble(ElectionResultsDTO.PartyVoteDTO::getPercentage)
+                .findFirst()
+                .orElse(0.0);
+    }
+
+    private List<ElectionResultsDTO.PartyVoteDTO> rollUp(ElectionSummary summary) {
+        Map<Integer, String> parties = getPolicyParties(summary.getSgId());
+
+        // 정당이 없는 공약도 0표로 포함
+        Map<String, Long> partyVotes = new LinkedHashMap<>();
+        parties.values().forEach(partyName -> partyVotes.putIfAbsent(partyName, 0L));
+        summary.getVoteCounts().forEach((policyId, count) -> {
+            String partyName = parties.get(policyId);
+            if (partyName != null) {
+                partyVotes.merge(partyName, count, Long::sum);
+            }
+        });
+
+        return partyVotes.entrySet().stream()
+                .map(entry -> ElectionResultsDTO.PartyVoteDTO.builder()
+                        .partyName(entry.getKey())
+                        .voteCount(entry.getValue())
+                        .percentage(summary.percentageOf(entry.getValue()))
+                        .build())
+                .sorted(Comparator.comparing(ElectionResultsDTO.PartyVoteDTO::getVoteCount).reversed())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * 공약-정당 매핑 및 정당 집계 초기화 (참조 데이터 캐시 무효화 시)
+     */
+    public void clear() {
+        policyParties.clear();
+        rollups.clear();
+    }
+
+    private Map<Integer, String> getPolicyParties(String sgId) {
+        return policyParties.computeIfAbsent(sgId, id -> {
+            Map<Integer, String> parties = new HashMap<>();
+            for (PartyPolicyDTO policy : votingMapper.getPartyPoliciesBySgId(id)) {
+                parties.put(policy.getId().intValue(), policy.getPartyName());
+            }
+            log.info("공약-정당 매핑 로드: sgId={}, 공약 수={}", id, parties.size());
+            return parties;
+        });
+    }
+
+    private static class PartyRollup {
+        private final long version;
+        private final List<ElectionResultsDTO.PartyVoteDTO> parties;
+
+        private PartyRollup(long version, List<ElectionResultsDTO.PartyVoteDTO> parties) {
+            this.version = version;
+            this.parties = parties;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.mockvoting.domain.voting.service;
+
+import com.example.mockvoting.config.InstanceLeaderLease;
+import com.example.mockvoting.domain.user.entity.User;
+import com.example.mockvoting.domain.user.mapper.UserMapper;
+import com.example.mockvoting.domain.voting.entity.VotingStats;
+import com.example.mockvoting.domain.voting.mapper.VotingMapper;
+import com.example.mockvoting.domain.wallet.entity.Wallet;
+import com.example.mockvoting.domain.wallet.mapper.WalletMapper;
+import com.example.mockvoting.exception.CustomException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 투표 원장
+ * - 중복 투표 확인, 토큰 차감, 후보 득표 증가를 Lua 스크립트 한 번으로 원자 처리한다.
+ * - 원장 항목은 reconcile() 이 user.is_election, wallet.token_balance, voting_stats 에 반영한다.
+ *   반영된 항목은 집계 엔진에도 전달해 집계 초기화 이전에 쌓여 있던 득표가 누락되지 않게 한다.
+ * - 다중 인스턴스에서는 리더만 반영하므로 처리 중 목록을 두 인스턴스가 동시에 반영하지 않고,
+ *   리더의 집계에 모든 인스턴스의 득표가 모인다.
+ *   is_election 조건부 갱신으로 항목당 한 번만 반영되므로 같은 항목을 다시 처리해도 안전하다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoteLedgerService {
+
+    private static final String VOTER_KEY_PREFIX = "vote:user:";
+    private static final String COUNT_KEY_PREFIX = "vote:count:";
+    private static final String PENDING_KEY = "vote:ledger:pending";
+    private static final String PROCESSING_KEY = "vote:ledger:processing";
+
+    private static final long ALREADY_VOTED = -1;
+    private static final long INSUFFICIENT_TOKEN = -2;
+    private static final long NOT_LOADED = -3;
+    private static final long WALLET_TYPE_MISMATCH = -4;
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserMapper userMapper;
+    private final WalletMapper walletMapper;
+    private final VotingMapper votingMapper;
+    private final VoteTallyService voteTallyService;
+    private final TransactionTemplate transactionTemplate;
+    private final InstanceLeaderLease instanceLeaderLease;
+
+    private final RedisScript<Long> castVoteScript =
+            RedisScript.of(new ClassPathResource("redis/cast_vote.lua"), Long.class);
+    private final RedisScript<Long> seedVoterScript =
+            RedisScript.of(new ClassPathResource("redis/seed_voter.lua"), Long.class);
+    private final RedisScript<Long> evictVoterScript =
+            RedisScript.of(new ClassPathResource("redis/evict_voter.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> claimLedgerScript =
+            RedisScript.of(new ClassPathResource("redis/claim_ledger.lua"), List.class);
+
+    @Value("${voting.ledger.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voting.ledger.voter-ttl-seconds:600}")
+    private long voterTtlSeconds;
+
+    @Value("${voting.ledger.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 투표 1건 원자 처리
+     * @param cost 차감할 토큰 수 (블록체인에서 이미 차감된 경우 0)
+     * @return 남은 토큰 수
+     */
+    public long castVote(String userId, String sgId, Integer candidateId, boolean metamask, int cost) {
+        // 원장 반영 전에 집계를 DB 기준으로 적재해 두어야 반영분이 중복 집계되지 않는다
+        voteTallyService.getVoteCounts(sgId);
+
+        String entry = String.join("|", userId, sgId, String.valueOf(candidateId), String.valueOf(cost));
+        List<String> keys = List.of(voterKey(userId), COUNT_KEY_PREFIX + sgId, PENDING_KEY);
+
+        boolean refreshed = false;
+        while (true) {
+            Long result = redisTemplate.execute(castVoteScript, keys,
+                    String.valueOf(candidateId), String.valueOf(cost), metamask ? "1" : "0", entry);
+
+            if (result == null) {
+                throw new CustomException("투표 처리 중 오류가 발생했습니다.");
+            }
+            if (result >= 0) {
+                voteTallyService.observeVote(sgId, candidateId, entry);
+                log.info("투표 원장 기록 완료: userId={}, sgId={}, candidateId={}, 남은 토큰={}",
+                        userId, sgId, candidateId, result);
+                return result;
+            }
+            if (result == ALREADY_VOTED) {
+                log.warn("이미 투표한 사용자: userId={}", userId);
+                throw new CustomException("이미 투표에 참여하셨습니다.");
+            }
+            if (result == NOT_LOADED) {
+                seedVoter(userId);
+                continue;
+            }
+            // 적재 이후 지갑 상태가 바뀌었을 수 있으므로 DB 기준으로 한 번 다시 적재
+            if (!refreshed) {
+                refreshed = true;
+                evict(userId);
+                continue;
+            }
+            if (result == WALLET_TYPE_MISMATCH) {
+                throw new CustomException(metamask
+                        ? "메타마스크 지갑 투표만 이 API를 사용할 수 있습니다."
+                        : "메타마스크 지갑은 메타마스크 투표 API를 사용해주세요.");
+            }
+            if (result == INSUFFICIENT_TOKEN) {
+                throw new CustomException("투표에 필요한 토큰이 부족합니다.");
+            }
+            throw new CustomException("투표 처리 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 원장 기준 투표 여부 (원장에 없으면 null)
+     */
+    public Boolean hasVoted(String userId) {
+        Object voted = redisTemplate.opsForHash().get(voterKey(userId), "voted");
+        return voted == null ? null : "1".equals(voted);
+    }
+
+    /**
+     * 아직 투표하지 않은 사용자의 원장 상태 제거
+     */
+    public void evict(String userId) {
+        redisTemplate.execute(evictVoterScript, List.of(voterKey(userId)));
+    }
+
+    /**
+     * 원장 항목을 MySQL 에 반영
+     */
+    @Scheduled(fixedDelayString = "${voting.ledger.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        if (!enabled || !instanceLeaderLease.isLeader()) {
+            return;
+        }
+
+        try {
+            @SuppressWarnings("unchecked")
+            List<String> entries = redisTemplate.execute(claimLedgerScript,
+                    List.of(PENDING_KEY, PROCESSING_KEY), String.valueOf(reconcileBatchSize));
+            if (entries == null || entries.isEmpty()) {
+                return;
+            }
+
+            // 커밋과 집계 전달 사이에 집계 초기화가 DB 를 읽지 않도록 함께 실행
+            List<String> applied = new ArrayList<>();
+            voteTallyService.reconcileExclusively(() -> {
+                applied.addAll(transactionTemplate.execute(status -> applyEntries(entries)));
+                for (String entry : applied) {
+                    String[] parts = entry.split("\\|");
+                    voteTallyService.applyReconciled(parts[1], Integer.valueOf(parts[2]), entry);
+                }
+            });
+
+            // 반영이 끝난 항목만 처리 중 목록에서 제거
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (String entry : entries) {
+                    stringConnection.lRem(PROCESSING_KEY, 1, entry);
+                }
+                return null;
+            });
+            log.info("투표 원장 반영 완료: 항목={}, 신규 반영={}", entries.size(), applied.size());
+        } catch (Exception e) {
+            log.error("투표 원장 반영 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    // 새로 반영된 항목 목록 반환
+    private List<String> applyEntries(List<String> entries) {
+        Map<String, Map<Integer, Integer>> deltas = new HashMap<>();
+        List<String> applied = new ArrayList<>();
+
+        for (String entry : entries) {
+            String[] parts = entry.split("\\|");
+            if (parts.length != 4) {
+                log.warn("잘못된 투표 원장 항목 무시: {}", entry);
+                continue;
+            }
+            String userId = parts[0];
+            String sgId = parts[1];
+            Integer candidateId = Integer.valueOf(parts[2]);
+            int cost = Integer.parseInt(parts[3]);
+
+            // 이미 반영된 항목이면 0건 갱신
+            if (userMapper.markElectionVoted(userId) == 0) {
+                continue;
+            }
+            if (cost > 0) {
+                walletMapper.deductTokenBalance(userId, cost);
+            }
+            deltas.computeIfAbsent(sgId, id -> new HashMap<>()).merge(candidateId, 1, Integer::sum);
+            applied.add(entry);
+        }
+
+        deltas.forEach(this::applyVoteCounts);
+        return applied;
+    }
+
+    private void applyVoteCounts(String sgId, Map<Integer, Integer> counts) {
+        Set<Integer> existing = new HashSet<>();
+        for (VotingStats stats : votingMapper.getVotingStatsBySgId(sgId)) {
+            existing.add(stats.getCandidateId());
+        }
+
+        List<VotingStats> updates = new ArrayList<>();
+        counts.forEach((candidateId, count) -> {
+            VotingStats stats = VotingStats.builder()
+                    .sgId(sgId)
+                    .candidateId(candidateId)
+                    .voteCount(count)
+                    .percentage(0.0)
+                    .build();
+
+            if (existing.contains(candidateId)) {
+                updates.add(stats);
+            } else {
+                votingMapper.insertVotingStats(stats);
+            }
+        });
+
+        if (!updates.isEmpty()) {
+            votingMapper.addVoteCounts(sgId, updates);
+        }
+        voteTallyService.markPersisted(sgId);
+    }
+
+    // DB 기준 투표자 상태 적재
+    private void seedVoter(String userId) {
+        User user = userMapper.findByUserId(userId)
+                .orElseThrow(() -> new CustomException("사용자를 찾을 수 없습니다."));
+        Wallet wallet = walletMapper.findByUserId(userId)
+                .orElseThrow(() -> new CustomException("투표하려면 지갑 연결이 필요합니다."));
+
+        redisTemplate.execute(seedVoterScript, List.of(voterKey(userId)),
+                user.isElection() ? "1" : "0",
+                String.valueOf(wallet.getTokenBalance()),
+                "METAMASK".equals(wallet.getWalletType()) ? "1" : "0",
+                String.valueOf(voterTtlSeconds));
+    }
+
+    private String voterKey(String userId) {
+        return VOTER_KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,417 @@
+package com.example.mockvoting.domain.voting.service;
+
+import com.example.mockvoting.config.InstanceLeaderLease;
+import com.example.mockvoting.domain.voting.dto.ElectionSummary;
+import com.example.mockvoting.domain.voting.entity.VotingStats;
+import com.example.mockvoting.domain.voting.mapper.VotingMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 투표 집계 엔진 (write-behind)
+ * - 투표 1건마다 voting_stats 를 갱신하지 않고 (sgId, candidateId) 별 메모리 카운터만 증가시킨다.
+ * - 누적된 증가분은 짧은 주기로 선거별 1회의 UPDATE 로 묶어 DB에 반영한다.
+ * - 백분율은 조회 시점에 득표 요약(ElectionSummary)에서 계산하고, 저장된 percentage 컬럼은 주기 작업으로만 갱신한다.
+ * - 다른 인스턴스의 득표는 DB 를 거쳐야 보이므로 resync() 가 주기적으로 DB 기준으로 누적 득표 수를 다시 맞춘다.
+ *   원장 항목 표시(ledgerEntries)는 원장을 반영하는 리더만 유지하고, 리더가 되는 시점에 DB 기준으로 새로 시작한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoteTallyService {
+
+    private final VotingMapper votingMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final InstanceLeaderLease instanceLeaderLease;
+
+    // 원장 항목 표시 보관 시간 (반대쪽 호출이 오지 않는 항목은 이후 재동기화에서 DB 값으로 대신함)
+    @Value("${voting.tally.ledger-marker-ttl-ms:60000}")
+    private long ledgerMarkerTtlMs;
+
+    // 선거(sgId)별 집계 상태
+    private final ConcurrentHashMap<String, ElectionTally> tallies = new ConcurrentHashMap<>();
+
+    // 원장 반영(DB 커밋 + applyReconciled)과 집계 초기화의 DB 조회를 직렬화
+    private final ReentrantLock ledgerLock = new ReentrantLock();
+
+    // 마지막 재동기화 시점의 리더 여부
+    private volatile boolean leader;
+
+    /**
+     * 투표 1건 반영
+     * - 호출한 트랜잭션이 롤백되면 증가분을 되돌린다.
+     */
+    public void recordVote(String sgId, Integer candidateId) {
+        apply(sgId, candidateId, 1);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        apply(sgId, candidateId, -1);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * DB 반영을 호출자가 직접 처리하는 투표 1건 반영 (Redis 투표 원장 경로)
+     * - 누적 득표 수만 증가시키고 flush 대상에는 포함하지 않는다.
+     * - 원장 반영이 먼저 끝나 applyReconciled() 로 이미 집계된 항목이면 다시 더하지 않는다.
+     * - 리더가 아니면 원장을 반영하지 않으므로 항목을 표시하지 않고, 다음 재동기화에서 DB 값으로 맞춘다.
+     */
+    public void observeVote(String sgId, Integer candidateId, String entry) {
+        ElectionTally tally = getTally(sgId);
+        if (instanceLeaderLease.isLeader()) {
+            synchronized (tally.ledgerEntries) {
+                LedgerMarker marker = tally.ledgerEntries.remove(entry);
+                if (marker != null && !marker.observed()) {
+                    return;
+                }
+                tally.ledgerEntries.put(entry, new LedgerMarker(candidateId, true, System.currentTimeMillis()));
+            }
+        }
+        addObserved(tally, candidateId);
+    }
+
+    /**
+     * DB 에 반영된 원장 항목을 집계에 합침
+     * - 이 인스턴스에서 observeVote() 로 이미 집계한 항목은 건너뛴다.
+     * - 집계 초기화 이전에 쌓여 있던 항목처럼 관찰하지 못한 항목만 더해 초기화 이후의 득표가 누락되지 않게 한다.
+     * - 초기화 전인 선거는 다음 초기화가 반영된 DB 값을 읽으므로 건너뛴다.
+     */
+    public void applyReconciled(String sgId, Integer candidateId, String entry) {
+        ElectionTally tally = tallies.get(sgId);
+        if (tally == null) {
+            return;
+        }
+        synchronized (tally.ledgerEntries) {
+            LedgerMarker marker = tally.ledgerEntries.remove(entry);
+            if (marker != null && marker.observed()) {
+                return;
+            }
+            tally.ledgerEntries.put(entry, new LedgerMarker(candidateId, false, System.currentTimeMillis()));
+        }
+        addObserved(tally, candidateId);
+    }
+
+    /**
+     * 원장 반영 작업을 집계 초기화와 겹치지 않게 실행
+     * - 초기화가 반영 트랜잭션 커밋 전의 DB 를 읽고, 반영 결과도 건너뛰어 득표가 누락되는 것을 막는다.
+     */
+    public void reconcileExclusively(Runnable reconcile) {
+        ledgerLock.lock();
+        try {
+            reconcile.run();
+        } finally {
+            ledgerLock.unlock();
+        }
+    }
+
+    /**
+     * 후보자별 현재 득표 수 조회 (DB 미반영 증가분 포함)
+     */
+    public Map<Integer, Long> getVoteCounts(String sgId) {
+        return getSummary(sgId).getVoteCounts();
+    }
+
+    /**
+     * 선거별 득표 요약 조회
+     * - 집계 버전이 바뀌지 않았으면 이전 스냅샷을 그대로 반환
+     */
+    public ElectionSummary getSummary(String sgId) {
+        ElectionTally tally = getTally(sgId);
+        ElectionSummary summary = tally.summary;
+        long version = tally.version.get();
+        if (summary != null && summary.getVersion() == version) {
+            return summary;
+        }
+
+        Map<Integer, Long> counts = new TreeMap<>();
+        tally.counters.forEach((candidateId, counter) -> counts.put(candidateId, counter.total.sum()));
+        long totalVotes = counts.values().stream().mapToLong(Long::longValue).sum();
+
+        summary = ElectionSummary.builder()
+                .sgId(sgId)
+                .version(version)
+                .totalVotes(totalVotes)
+                .voteCounts(Collections.unmodifiableMap(counts))
+                .build();
+        tally.summary = summary;
+        return summary;
+    }
+
+    /**
+     * voting_stats 의 득표 수가 외부에서 갱신되었음을 표시 (투표 원장 반영 등)
+     */
+    public void markPersisted(String sgId) {
+        ElectionTally tally = tallies.get(sgId);
+        if (tally != null) {
+            tally.percentageDirty.set(true);
+        }
+    }
+
+    /**
+     * 저장된 percentage 컬럼 주기적 갱신
+     * - 득표 수가 DB에 반영된 선거만 갱신하며, 조회는 메모리 요약에서 계산하므로 이 값은 참고용이다.
+     */
+    @Scheduled(fixedDelayString = "${voting.percentage.refresh-interval-ms:60000}")
+    public void refreshStoredPercentages() {
+        tallies.forEach((sgId, tally) -> {
+            if (!tally.percentageDirty.getAndSet(false)) {
+                return;
+            }
+            try {
+                votingMapper.updateAllPercentages(sgId);
+                log.debug("저장된 득표율 갱신 완료: sgId={}", sgId);
+            } catch (Exception e) {
+                tally.percentageDirty.set(true);
+                log.error("저장된 득표율 갱신 실패: sgId={}", sgId, e);
+            }
+        });
+    }
+
+    /**
+     * 집계가 로드된 선거별 변경 버전 조회
+     * - 득표가 반영될 때마다 증가하므로 결과 발행 여부 판단에 사용
+     */
+    public Map<String, Long> getVersions() {
+        Map<String, Long> versions = new TreeMap<>();
+        tallies.forEach((sgId, tally) -> versions.put(sgId, tally.version.get()));
+        return versions;
+    }
+
+    /**
+     * 누적 득표 수를 DB 기준으로 재동기화
+     * - 누적 득표 수 = voting_stats + 이 인스턴스의 미반영 증가분 + 리더가 관찰했지만 아직 반영하지 않은 원장 항목
+     * - 팔로워는 원장 항목 표시를 비우고, 리더가 된 직후에는 이전 리더가 반영한 항목을 알 수 없으므로 표시를 비우고 시작한다.
+     *   표시가 없는 항목은 이후 applyReconciled() 로 한 번만 더해진다.
+     * - 리더는 보관 시간이 지난 표시만 정리한다. (다른 인스턴스에서 관찰된 항목 등)
+     */
+    @Scheduled(fixedDelayString = "${voting.tally.resync-interval-ms:5000}")
+    public void resync() {
+        boolean wasLeader = leader;
+        leader = instanceLeaderLease.isLeader();
+        boolean keepMarkers = wasLeader && leader;
+        if (leader && !wasLeader) {
+            log.info("리더 전환, 투표 집계를 DB 기준으로 다시 적재: 선거 수={}", tallies.size());
+        }
+
+        tallies.forEach((sgId, tally) -> {
+            try {
+                resyncElection(sgId, tally, keepMarkers);
+            } catch (Exception e) {
+                log.error("투표 집계 재동기화 실패: sgId={}", sgId, e);
+            }
+        });
+    }
+
+    private void resyncElection(String sgId, ElectionTally tally, boolean keepMarkers) {
+        ledgerLock.lock();
+        try {
+            synchronized (tally) {
+                Map<Integer, Long> unreconciled = new HashMap<>();
+                synchronized (tally.ledgerEntries) {
+                    if (!keepMarkers) {
+                        tally.ledgerEntries.clear();
+                    }
+                    long expiredBefore = System.currentTimeMillis() - ledgerMarkerTtlMs;
+                    Iterator<LedgerMarker> markers = tally.ledgerEntries.values().iterator();
+                    while (markers.hasNext()) {
+                        LedgerMarker marker = markers.next();
+                        if (marker.markedAt() < expiredBefore) {
+                            markers.remove();
+                        } else if (marker.observed()) {
+                            unreconciled.merge(marker.candidateId(), 1L, Long::sum);
+                        }
+                    }
+                }
+
+                Map<Integer, Long> persisted = new HashMap<>();
+                for (VotingStats stats : votingMapper.getVotingStatsBySgId(sgId)) {
+                    if (stats.getCandidateId() != null) {
+                        persisted.put(stats.getCandidateId(), (long) stats.getVoteCount());
+                    }
+                }
+                persisted.keySet().forEach(candidateId ->
+                        tally.counters.computeIfAbsent(candidateId, id -> new CandidateCounter(true)));
+
+                boolean changed = false;
+                for (Map.Entry<Integer, CandidateCounter> entry : tally.counters.entrySet()) {
+                    CandidateCounter counter = entry.getValue();
+                    Long persistedCount = persisted.get(entry.getKey());
+                    // 다른 인스턴스가 먼저 행을 만들었으면 다음 반영은 UPDATE 로 처리
+                    if (persistedCount != null) {
+                        counter.persisted = true;
+                    }
+                    long total = (persistedCount == null ? 0 : persistedCount) + counter.pending.sum()
+                            + unreconciled.getOrDefault(entry.getKey(), 0L);
+                    long current = counter.total.sum();
+                    if (total != current) {
+                        counter.total.add(total - current);
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    tally.version.incrementAndGet();
+                }
+            }
+        } finally {
+            ledgerLock.unlock();
+        }
+    }
+
+    /**
+     * 누적된 증가분을 voting_stats 에 일괄 반영
+     */
+    @Scheduled(fixedDelayString = "${voting.tally.flush-interval-ms:500}")
+    public void flush() {
+        tallies.forEach(this::flushElection);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("애플리케이션 종료 전 투표 집계 반영");
+        flush();
+    }
+
+    private void flushElection(String sgId, ElectionTally tally) {
+        synchronized (tally) {
+            List<VotingStats> updates = new ArrayList<>();
+            List<VotingStats> inserts = new ArrayList<>();
+
+            tally.counters.forEach((candidateId, counter) -> {
+                long delta = counter.pending.sumThenReset();
+                if (delta == 0) {
+                    return;
+                }
+
+                VotingStats stats = VotingStats.builder()
+                        .sgId(sgId)
+                        .candidateId(candidateId)
+                        .voteCount((int) delta)
+                        .percentage(0.0)
+                        .build();
+
+                if (counter.persisted) {
+                    updates.add(stats);
+                } else {
+                    inserts.add(stats);
+                }
+            });
+
+            if (updates.isEmpty() && inserts.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    inserts.forEach(votingMapper::insertVotingStats);
+                    if (!updates.isEmpty()) {
+                        votingMapper.addVoteCounts(sgId, updates);
+                    }
+                });
+                inserts.forEach(stats -> tally.counters.get(stats.getCandidateId()).persisted = true);
+                tally.percentageDirty.set(true);
+                log.debug("투표 집계 반영 완료: sgId={}, 갱신={}, 신규={}", sgId, updates.size(), inserts.size());
+            } catch (Exception e) {
+                log.error("투표 집계 반영 실패, 다음 주기에 재시도: sgId={}", sgId, e);
+                updates.forEach(stats -> tally.counters.get(stats.getCandidateId()).pending.add(stats.getVoteCount()));
+                inserts.forEach(stats -> tally.counters.get(stats.getCandidateId()).pending.add(stats.getVoteCount()));
+            }
+        }
+    }
+
+    private void apply(String sgId, Integer candidateId, long delta) {
+        ElectionTally tally = getTally(sgId);
+        CandidateCounter counter = tally.counters
+                .computeIfAbsent(candidateId, id -> new CandidateCounter(false));
+        counter.total.add(delta);
+        counter.pending.add(delta);
+        tally.version.incrementAndGet();
+    }
+
+    private void addObserved(ElectionTally tally, Integer candidateId) {
+        tally.counters
+                .computeIfAbsent(candidateId, id -> new CandidateCounter(false))
+                .total.increment();
+        tally.version.incrementAndGet();
+    }
+
+    private ElectionTally getTally(String sgId) {
+        return tallies.computeIfAbsent(sgId, this::loadTally);
+    }
+
+    // 최초 접근 시 DB의 누적 득표 수로 초기화
+    private ElectionTally loadTally(String sgId) {
+        ElectionTally tally = new ElectionTally();
+        ledgerLock.lock();
+        try {
+            for (VotingStats stats : votingMapper.getVotingStatsBySgId(sgId)) {
+                if (stats.getCandidateId() == null) {
+                    continue; // 공약별 통계 행은 후보 집계 대상이 아님
+                }
+                tally.counters
+                        .computeIfAbsent(stats.getCandidateId(), id -> new CandidateCounter(true))
+                        .total.add(stats.getVoteCount());
+            }
+        } finally {
+            ledgerLock.unlock();
+        }
+        log.info("투표 집계 초기화: sgId={}, 후보 수={}", sgId, tally.counters.size());
+        return tally;
+    }
+
+    private static class ElectionTally {
+        private final ConcurrentHashMap<Integer, CandidateCounter> counters = new ConcurrentHashMap<>();
+        // 득표 변경 버전
+        private final AtomicLong version = new AtomicLong();
+        // 마지막으로 만든 득표 요약
+        private volatile ElectionSummary summary;
+        // percentage 컬럼 갱신 필요 여부
+        private final AtomicBoolean percentageDirty = new AtomicBoolean();
+        // 한쪽에서만 집계된 원장 항목
+        private final Map<String, LedgerMarker> ledgerEntries = new HashMap<>();
+    }
+
+    /**
+     * @param observed true: observeVote 로 집계, false: applyReconciled 로 집계
+     */
+    private record LedgerMarker(Integer candidateId, boolean observed, long markedAt) {
+    }
+
+    private static class CandidateCounter {
+        // 누적 득표 수 (조회용)
+        private final LongAdder total = new LongAdder();
+        // 아직 DB에 반영되지 않은 증가분
+        private final LongAdder pending = new LongAdder();
+        // voting_stats 행 존재 여부
+        private volatile boolean persisted;
+
+        private CandidateCounter(boolean persisted) {
+            this.persisted = persisted;
+        }
+    }
+}
@@ -1,34 +1,29 @@
 package com.example.mockvoting.domain.voting.service;
 
+import com.example.mockvoting.config.CacheConfig;
+import com.example.mockvoting.domain.voting.dto.ElectionResultsDTO;
+import com.example.mockvoting.domain.voting.dto.ElectionSummary;
 import com.example.mockvoting.domain.voting.dto.VotingCardDTO;
 import com.example.mockvoting.domain.voting.dto.PartyPolicyDTO;
 import com.example.mockvoting.domain.voting.dto.VotingStatsDTO;
-import com.example.mockvoting.domain.voting.entity.VotingStats;
 import com.example.mockvoting.domain.voting.mapper.VotingMapper;
 import com.example.mockvoting.domain.user.entity.User;
 import com.example.mockvoting.domain.user.mapper.UserMapper;
 import com.example.mockvoting.domain.wallet.entity.Wallet;
 import com.example.mockvoting.domain.wallet.mapper.WalletMapper;
+import com.example.mockvoting.domain.wallet.service.TokenBalanceCache;
 import com.example.mockvoting.domain.wallet.service.WalletService;
 import com.example.mockvoting.exception.CustomException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.web3j.crypto.Credentials;
-import org.web3j.protocol.Web3j;
-import org.web3j.protocol.http.HttpService;
-import org.web3j.tx.gas.ContractGasProvider;
-import org.web3j.tx.gas.DefaultGasProvider;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -41,16 +36,15 @@ public class VotingService {
     private final UserMapper userMapper;
     private final WalletMapper walletMapper;
     private final WalletService walletService;
-
-    @Value("${blockchain.rpc-url}")
-    private String rpcUrl;
-
-    @Value("${blockchain.token-contract-address}")
-    private String tokenContractAddress;
+    private final TokenBalanceCache tokenBalanceCache;
+    private final VoteTallyService voteTallyService;
+    private final VoteLedgerService voteLedgerService;
+    private final PartyRollupService partyRollupService;
 
     /**
      * 특정 투표 정보 조회
      */
+    @Cacheable(CacheConfig.VOTING_ELECTIONS)
     public VotingCardDTO getElectionById(String sgId) {
         return votingMapper.getElectionById(sgId);
     }
@@ -58,6 +52,7 @@ public class VotingService {
     /**
      * 특정 투표의 모든 정당 정책 조회
      */
+    @Cacheable(CacheConfig.PARTY_POLICIES)
     public List<PartyPolicyDTO> getPartyPoliciesBySgId(String sgId) {
         return votingMapper.getPartyPoliciesBySgId(sgId);
     }
@@ -65,6 +60,7 @@ public class VotingService {
     /**
      * 특정 투표의 모든 정당 이름 조회
      */
+    @Cacheable(CacheConfig.PARTY_NAMES)
     public List<String> getDistinctPartyNamesBySgId(String sgId) {
         return votingMapper.getDistinctPartyNamesBySgId(sgId);
     }
@@ -72,6 +68,12 @@ public class VotingService {
     @Transactional
     public VotingStatsDTO submitVoting(String sgId, Integer candidateId, String userId) {
         try {
+            // Redis 투표 원장 사용 시 중복 확인, 토큰 차감, 집계를 한 번에 처리 (DB 반영은 원장 reconcile)
+            if (voteLedgerService.isEnabled()) {
+                voteLedgerService.castVote(userId, sgId, candidateId, false, 1);
+                return getVotingStats(sgId);
+            }
+
             // 1. 사용자 조회
             User user = userMapper.findByUserId(userId)
                     .orElseThrow(() -> new CustomException("사용자를 찾을 수 없습니다."));
@@ -100,30 +102,14 @@ public class VotingService {
             walletMapper.updateTokenBalance(userId, newBalance);
             log.info("토큰 차감 완료: userId={}, 남은 토큰={}", userId, newBalance);
 
-            // 5. 후보자별 투표 통계 처리 (기존 방식 유지)
-            VotingStats stats = votingMapper.getVotingStatsByCandidateId(sgId, candidateId);
-
-            if (stats == null) {
-                log.info("새 투표 통계 생성: sgId={}, candidateId={}", sgId, candidateId);
-                VotingStats newStats = VotingStats.builder()
-                        .sgId(sgId)
-                        .candidateId(candidateId)
-                        .voteCount(1)
-                        .percentage(0.0)
-                        .build();
-                votingMapper.insertVotingStats(newStats);
-            } else {
-                log.info("투표 수 증가: sgId={}, candidateId={}, 현재 count={}", sgId, candidateId, stats.getVoteCount());
-                votingMapper.incrementVoteCount(sgId, candidateId);
-            }
-
-            // 6. 사용자의 투표 상태 업데이트
+            // 5. 사용자의 투표 상태 업데이트
             userMapper.updateUserElectionStatus(userId, true);
 
-            // 7. 백분율 업데이트
-            votingMapper.updateAllPercentages(sgId);
+            // 6. 후보자별 투표 집계 (DB 반영은 VoteTallyService 가 주기적으로 일괄 처리)
+            voteTallyService.recordVote(sgId, candidateId);
+            log.info("투표 집계 반영: sgId={}, candidateId={}", sgId, candidateId);
 
-            // 8. 투표 결과 반환
+            // 7. 투표 결과 반환
             return getVotingStats(sgId);
 
         } catch (Exception e) {
@@ -134,6 +120,10 @@ public class VotingService {
 
     @Transactional
     public VotingStatsDTO verifyAndSubmitMetaMaskVoting(String sgId, Integer candidateId, String userId, String transactionHash) {
+        if (voteLedgerService.isEnabled()) {
+            return submitMetaMaskVotingToLedger(sgId, candidateId, userId, transactionHash);
+        }
+
         // 1. 사용자 조회
         User user = userMapper.findByUserId(userId)
                 .orElseThrow(() -> new CustomException("사용자를 찾을 수 없습니다."));
@@ -160,6 +150,8 @@ public class VotingService {
             if (!isValidTransaction) {
                 throw new CustomException("유효하지 않은 투표 트랜잭션입니다.");
             }
+            // 투표 트랜잭션으로 토큰이 차감되었으므로 캐시된 잔액 무효화 (인덱서 없이도 반영)
+            tokenBalanceCache.invalidate(wallet.getWalletAddress());
         } else {
             // DB 토큰 차감 - 직접 처리
             if (wallet.getTokenBalance() < 1) {
@@ -171,22 +163,9 @@ public class VotingService {
             log.info("DB 토큰 차감 완료: userId={}, 남은 토큰={}", userId, newBalance);
         }
 
-        // 5. 후보자별 투표 통계 처리 (일반 투표와 동일)
-        VotingStats stats = votingMapper.getVotingStatsByCandidateId(sgId, candidateId);
-
-        if (stats == null) {
-            log.info("새 투표 통계 생성: sgId={}, candidateId={}", sgId, candidateId);
-            VotingStats newStats = VotingStats.builder()
-                    .sgId(sgId)
-                    .candidateId(candidateId)
-                    .voteCount(1)
-                    .percentage(0.0)
-                    .build();
-            votingMapper.insertVotingStats(newStats);
-        } else {
-            log.info("투표 수 증가: sgId={}, candidateId={}, 현재 count={}", sgId, candidateId, stats.getVoteCount());
-            votingMapper.incrementVoteCount(sgId, candidateId);
-        }
+        // 5. 후보자별 투표 집계 (일반 투표와 동일)
+        voteTallyService.recordVote(sgId, candidateId);
+        log.info("투표 집계 반영: sgId={}, candidateId={}", sgId, candidateId);
 
         // 6. 사용자의 투표 상태 업데이트
         userMapper.updateUserElectionStatus(userId, true);
@@ -203,38 +182,107 @@ public class VotingService {
             }
         }
 
-        // 8. 백분율 업데이트
-        votingMapper.updateAllPercentages(sgId);
+        // 8. 투표 결과 반환
+        return getVotingStats(sgId);
+    }
+
+    /**
+     * 메타마스크 투표 - Redis 투표 원장 경로
+     * - 블록체인 트랜잭션이 검증된 경우 토큰은 이미 차감되었으므로 원장에서는 차감하지 않음
+     */
+    private VotingStatsDTO submitMetaMaskVotingToLedger(String sgId, Integer candidateId, String userId, String transactionHash) {
+        // 트랜잭션 검증 전에 중복 투표 먼저 확인
+        if (Boolean.TRUE.equals(voteLedgerService.hasVoted(userId))) {
+            throw new CustomException("이미 투표에 참여하셨습니다.");
+        }
+
+        boolean onChain = transactionHash != null && !transactionHash.isEmpty() && !transactionHash.equals("INTERNAL");
+        Wallet wallet = null;
+        if (onChain) {
+            wallet = walletMapper.findByUserId(userId)
+                    .orElseThrow(() -> new CustomException("투표하려면 지갑 연결이 필요합니다."));
+
+            if (!"METAMASK".equals(wallet.getWalletType())) {
+                throw new CustomException("메타마스크 지갑 투표만 이 API를 사용할 수 있습니다.");
+            }
+
+            if (!walletService.verifyTransaction(transactionHash, wallet.getWalletAddress(), candidateId)) {
+                throw new CustomException("유효하지 않은 투표 트랜잭션입니다.");
+            }
+            // 투표 트랜잭션으로 토큰이 차감되었으므로 캐시된 잔액 무효화 (인덱서 없이도 반영)
+            tokenBalanceCache.invalidate(wallet.getWalletAddress());
+        }
+
+        voteLedgerService.castVote(userId, sgId, candidateId, true, onChain ? 0 : 1);
+
+        // 토큰 잔액 새로고침 시도
+        if (onChain) {
+            try {
+                BigInteger currentBalance = walletService.getTokenBalanceFromBlockchain(wallet.getWalletAddress());
+                int tokenBalance = currentBalance.divide(BigInteger.TEN.pow(18)).intValue();
+                walletMapper.updateTokenBalance(userId, tokenBalance);
+                log.info("투표 후 토큰 잔액 업데이트: userId={}, tokenBalance={}", userId, tokenBalance);
+            } catch (Exception e) {
+                log.warn("투표 후 토큰 잔액 조회 실패: {}", e.getMessage());
+            }
+        }
 
-        // 9. 투표 결과 반환
         return getVotingStats(sgId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 투표 통계 조회
+     * - 선거별 득표 요약 기준으로 반환하며 백분율은 조회 시점에 계산
+     */
     public VotingStatsDTO getVotingStats(String sgId) {
-        // 후보자별 투표 통계 가져오기
-        List<VotingStats> stats = votingMapper.getVotingStatsBySgId(sgId);
+        return toVotingStats(voteTallyService.getSummary(sgId));
+    }
 
+    private VotingStatsDTO toVotingStats(ElectionSummary summary) {
         // 전체 투표수
-        int totalVotes = stats.stream().mapToInt(VotingStats::getVoteCount).sum();
+        long totalVotes = summary.getTotalVotes();
         double participation = totalVotes > 0 ? Math.min(100.0, (totalVotes/17.0) * 100) : 0.0;
 
-        // 후보별 투표 결과 (기존 방식 유지)
-        List<VotingStatsDTO.CandidateVoteDTO> voteResults = stats.stream()
-                .map(stat -> VotingStatsDTO.CandidateVoteDTO.builder()
-                        .candidateId(stat.getCandidateId())
-                        .percentage(stat.getPercentage())
-                        .voteCount(stat.getVoteCount())
+        // 후보별 투표 결과
+        List<VotingStatsDTO.CandidateVoteDTO> voteResults = summary.getVoteCounts().entrySet().stream()
+                .map(entry -> VotingStatsDTO.CandidateVoteDTO.builder()
+                        .candidateId(entry.getKey())
+                        .percentage(summary.percentageOf(entry.getValue()))
+                        .voteCount(entry.getValue().intValue())
                         .build())
                 .collect(Collectors.toList());
 
         return VotingStatsDTO.builder()
-                .sgId(sgId)
+                .sgId(summary.getSgId())
                 .participation(participation)
                 .votes(voteResults)
                 .build();
     }
 
+    /**
+     * 정당별 득표율 조회
+     */
+    public double getPartyPercentage(String sgId, String partyName) {
+        return partyRollupService.getPartyPercentage(sgId, partyName);
+    }
+
+    /**
+     * 선거 결과 조회 - 후보(공약)별 결과와 정당별 집계를 함께 반환
+     * - 전체 투표 수, 후보별 결과, 정당별 집계를 모두 같은 득표 요약 스냅샷에서 계산한다.
+     */
+    public ElectionResultsDTO getElectionResults(String sgId) {
+        ElectionSummary summary = voteTallyService.getSummary(sgId);
+        VotingStatsDTO stats = toVotingStats(summary);
+
+        return ElectionResultsDTO.builder()
+                .sgId(sgId)
+                .totalVotes(summary.getTotalVotes())
+                .participation(stats.getParticipation())
+                .votes(stats.getVotes())
+                .parties(partyRollupService.getPartyVotes(summary))
+                .build();
+    }
+
     /**
      * 사용자가 투표했는지 확인 (간소화: user 테이블의 is_election 필드만 확인)
      */
@@ -245,6 +293,11 @@ public class VotingService {
             return false;
         }
 
+        // 투표 원장에 기록이 있으면 아직 DB에 반영되지 않았더라도 원장 기준으로 판단
+        if (voteLedgerService.isEnabled() && Boolean.TRUE.equals(voteLedgerService.hasVoted(userId))) {
+            return true;
+        }
+
         User user = userMapper.findByUserId(userId).orElse(null);
         if (user == null) {
             log.warn("사용자를 찾을 수 없음: userId={}", userId);
@@ -257,29 +310,6 @@ public class VotingService {
         return hasVoted;
     }
 
-    /**
-     * 통계 업데이트 비동기 처리
-     */
-    @Async
-    public void updateStatisticsAsync(String sgId) {
-        try {
-            updateStatistics(sgId);
-        } catch (Exception e) {
-            log.error("통계 업데이트 중 오류 발생: {}", e.getMessage(), e);
-        }
-    }
-
-    /**
-     * 투표 통계 업데이트 - 별도 트랜잭션으로 처리
-     */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void updateStatistics(String sgId) {
-        // 원자적으로 모든 후보의 백분율 업데이트
-        votingMapper.updateAllPercentages(sgId);
-        log.info("투표 통계 업데이트 완료: sgId={}", sgId);
-    }
-
-
     /**
      * 사용자 투표 가능 여부 확인
      * - 지갑 연결, 토큰 잔액, 이전 투표 여부 등을 확인
@@ -298,8 +328,9 @@ public class VotingService {
             return false;
         }
 
-        // 2. 이미 투표했는지 확인
-        if (user.isElection()) {
+        // 2. 이미 투표했는지 확인 (DB 반영 전인 원장 기록 포함)
+        if (user.isElection()
+                || (voteLedgerService.isEnabled() && Boolean.TRUE.equals(voteLedgerService.hasVoted(userId)))) {
             log.info("사용자가 이미 투표함: userId={}", userId);
             return false;
         }
@@ -316,15 +347,12 @@ public class VotingService {
 
         // 지갑 타입에 따른 잔액 확인
         if ("METAMASK".equals(wallet.getWalletType())) {
-            try {
-                // 블록체인에서 실제 잔액 확인
-                int balance = walletService.getTokenBalance(userId);
-                if (balance < 1) {
-                    log.info("메타마스크 지갑 토큰 부족: userId={}, balance={}", userId, balance);
-                    return false;
-                }
-            } catch (Exception e) {
-                log.error("메타마스크 지갑 잔액 확인 중 오류: {}", e.getMessage());
+            // 캐시된 온체인 잔액으로 확인, 캐시에 없으면 DB 잔액 사용 (블록체인 응답을 기다리지 않음)
+            int balance = tokenBalanceCache.getIfPresent(wallet.getWalletAddress())
+                    .map(wei -> wei.divide(BigInteger.TEN.pow(18)).intValue())
+                    .orElse(wallet.getTokenBalance());
+            if (balance < 1) {
+                log.info("메타마스크 지갑 토큰 부족: userId={}, balance={}", userId, balance);
                 return false;
             }
         } else {
@@ -338,33 +366,4 @@ public class VotingService {
         log.info("사용자 투표 가능: userId={}, walletType={}", userId, wallet.getWalletType());
         return true;
     }
-
-
-    // Web3j 관련 유틸리티 메서드
-    private Web3j getWeb3j() {
-        return Web3j.build(new HttpService(rpcUrl));
-    }
-
-    private ContractGasProvider getGasProvider() {
-        return new DefaultGasProvider();
-    }
-
-    // VotingToken 컨트랙트 래퍼 클래스 (예시)
-    public static class VotingToken {
-        private final String contractAddress;
-        private final Web3j web3j;
-        private final Credentials credentials;
-        private final ContractGasProvider gasProvider;
-
-        public static VotingToken load(String contractAddress, Web3j web3j, Credentials credentials, ContractGasProvider gasProvider) {
-            return new VotingToken(contractAddress, web3j, credentials, gasProvider);
-        }
-
-        private VotingToken(String contractAddress, Web3j web3j, Credentials credentials, ContractGasProvider gasProvider) {
-            this.contractAddress = contractAddress;
-            this.web3j = web3j;
-            this.credentials = credentials;
-            this.gasProvider = gasProvider;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -8,8 +8,10 @@ import java.util.Collections;
 import java.util.List;
 import org.web3j.abi.EventEncoder;
 import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
 import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
 import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.Type;
@@ -45,6 +47,7 @@ public class VotingToken extends Contract {
     public static final String FUNC_INCREASEALLOWANCE = "increaseAllowance";
     public static final String FUNC_INITIAL_SUPPLY = "INITIAL_SUPPLY";
     public static final String FUNC_ISSUEINITIALTOKENS = "issueInitialTokens";
+    public static final String FUNC_ISSUEINITIALTOKENSBATCH = "issueInitialTokensBatch";
     public static final String FUNC_NAME = "name";
     public static final String FUNC_OWNER = "owner";
     public static final String FUNC_RENOUNCEOWNERSHIP = "renounceOwnership";
@@ -180,6 +183,13 @@ public class VotingToken extends Contract {
         return executeRemoteCallTransaction(function);
     }
 
+    public RemoteFunctionCall<TransactionReceipt> issueInitialTokensBatch(List<String> recipients) {
+        final Function function = new Function(FUNC_ISSUEINITIALTOKENSBATCH,
+                Arrays.<Type>asList(new DynamicArray<Address>(Address.class, Utils.typeMap(recipients, Address.class))),
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
     public RemoteFunctionCall<BigInteger> INITIAL_SUPPLY() {
         final Function function = new Function(FUNC_INITIAL_SUPPLY,
                 Arrays.<Type>asList(),
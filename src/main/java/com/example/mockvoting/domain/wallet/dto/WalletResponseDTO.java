@@ -14,4 +14,5 @@ public class WalletResponseDTO {
     private int tokenBalance;
     private String walletType; // "INTERNAL" 또는 "METAMASK"
     private boolean connected;
+    private String issuanceStatus; // 온체인 토큰 발급 상태 (PENDING, SENDING, SUBMITTED, CONFIRMED, FAILED / 요청 없으면 null)
 }
\ No newline at end of file
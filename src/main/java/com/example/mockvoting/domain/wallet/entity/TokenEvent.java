@@ -0,0 +1,27 @@
+package com.example.mockvoting.domain.wallet.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenEvent {
+    public static final String VOTE_CAST = "VOTE_CAST";
+    public static final String TRANSFER = "TRANSFER";
+
+    private Long id;
+    private long blockNumber;
+    private String txHash;
+    private int logIndex;
+    private String eventType;    // VOTE_CAST 또는 TRANSFER
+    private String fromAddress;  // Transfer: from / VoteCast: voter
+    private String toAddress;    // Transfer: to
+    private BigInteger amount;   // Transfer: value (wei)
+    private Long candidateId;    // VoteCast: candidateId
+}
@@ -0,0 +1,32 @@
+package com.example.mockvoting.domain.wallet.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIssuance {
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String SUBMITTED = "SUBMITTED";
+    public static final String CONFIRMED = "CONFIRMED";
+    public static final String FAILED = "FAILED";
+
+    private Long id;
+    private String userId;
+    private String walletAddress;
+    private String status; // PENDING -> SENDING -> SUBMITTED -> CONFIRMED (실패 시 PENDING 재시도 또는 FAILED)
+    private String owner; // SENDING 상태의 요청을 선점한 워커
+    private String txHash;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime submittedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.mockvoting.domain.wallet.event;
+
+import com.example.mockvoting.domain.wallet.entity.TokenEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * VotingToken 이벤트가 인덱싱되었을 때 발행되는 애플리케이션 이벤트
+ */
+@Getter
+@RequiredArgsConstructor
+public class TokenEventsIndexedEvent {
+    private final List<TokenEvent> events;
+}
@@ -0,0 +1,29 @@
+package com.example.mockvoting.domain.wallet.mapper;
+
+import com.example.mockvoting.domain.wallet.entity.TokenEvent;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.math.BigInteger;
+import java.util.List;
+
+@Mapper
+public interface TokenEventMapper {
+    // 이벤트 일괄 저장 (이미 저장된 로그는 무시)
+    void insertEvents(@Param("events") List<TokenEvent> events);
+
+    // 인덱서 체크포인트 조회 (없으면 null)
+    Long findCheckpoint(@Param("name") String name);
+
+    // 인덱서 체크포인트 저장
+    void saveCheckpoint(@Param("name") String name, @Param("blockNumber") long blockNumber);
+
+    // 트랜잭션의 VoteCast 이벤트 조회
+    List<TokenEvent> findVoteCastsByTxHash(@Param("txHash") String txHash);
+
+    // 블록 구간의 이벤트 조회 (블록, 로그 순)
+    List<TokenEvent> findEventsByBlockRange(@Param("fromBlock") long fromBlock, @Param("toBlock") long toBlock);
+
+    // Transfer 이벤트 기준 주소 잔액 (wei)
+    BigInteger getTransferBalance(@Param("address") String address);
+}
@@ -0,0 +1,41 @@
+package com.example.mockvoting.domain.wallet.mapper;
+
+import com.example.mockvoting.domain.wallet.entity.TokenIssuance;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+@Mapper
+public interface TokenIssuanceMapper {
+    // 발급 요청 등록 (같은 지갑 주소의 요청이 실패 상태면 재시도 대기로 되돌리고, 그 외에는 무시)
+    int insertIssuance(TokenIssuance issuance);
+
+    // 사용자의 최근 발급 요청 조회
+    Optional<TokenIssuance> findLatestByUserId(@Param("userId") String userId);
+
+    // 상태별 발급 요청 조회 (오래된 순)
+    List<TokenIssuance> findByStatus(@Param("status") String status, @Param("limit") int limit);
+
+    // 대기 중인 요청을 오래된 순으로 선점 (PENDING -> SENDING)
+    int claimPending(@Param("owner") String owner, @Param("limit") int limit);
+
+    // 선점한 요청 조회 (오래된 순)
+    List<TokenIssuance> findClaimed(@Param("owner") String owner);
+
+    // 선점한 채 남은 요청을 대기로 되돌림
+    int releaseClaimed(@Param("owner") String owner);
+
+    // 다른 워커가 선점한 뒤 오래 갱신되지 않은 요청을 대기로 되돌림 (이전 리더 중단 등)
+    int releaseStale(@Param("owner") String owner, @Param("staleSeconds") long staleSeconds);
+
+    // 트랜잭션 전송 완료 처리
+    void markSubmitted(@Param("ids") List<Long> ids, @Param("txHash") String txHash);
+
+    // 발급 완료 처리
+    void markConfirmed(@Param("ids") List<Long> ids);
+
+    // 발급 실패 처리 (최대 시도 횟수 전까지는 재시도 대기)
+    void markRetry(@Param("ids") List<Long> ids, @Param("maxAttempts") int maxAttempts, @Param("lastError") String lastError);
+}
@@ -26,4 +26,7 @@ public interface WalletMapper {
 
     // 토큰 잔액 업데이트
     void updateTokenBalance(@Param("userId") String userId, @Param("tokenBalance") int tokenBalance);
+
+    // 토큰 잔액 차감 (0 미만으로 내려가지 않음)
+    void deductTokenBalance(@Param("userId") String userId, @Param("amount") int amount);
 }
\ No newline at end of file
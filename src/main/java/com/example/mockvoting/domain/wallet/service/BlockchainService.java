@@ -0,0 +1,224 @@
+package com.example.mockvoting.domain.wallet.service;
+
+import com.example.mockvoting.domain.wallet.contract.VotingToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.abi.EventEncoder;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.ChainIdLong;
+import org.web3j.tx.RawTransactionManager;
+import org.web3j.tx.TransactionManager;
+import org.web3j.tx.gas.StaticGasProvider;
+import org.web3j.tx.response.PollingTransactionReceiptProcessor;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 블록체인 호출 서비스
+ * - 공유 Web3j 클라이언트로 영수증 조회, 잔액 조회, VotingToken 호출을 비동기(CompletableFuture)로 처리한다.
+ * - 동시 호출 수는 blockchain.client.max-concurrent-calls, 호출별 제한 시간은 blockchain.client.call-timeout-ms 로 제한한다.
+ * - 제한 시간이 지나면 반환한 future 만 실패시키지 않고 실행 중인 호출도 취소(인터럽트)해 스레드와 대기열 자리를 돌려받는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlockchainService {
+
+    // 가스 설정 (테스트넷용으로 낮춤)
+    public static final BigInteger GAS_PRICE = BigInteger.valueOf(10_000_000_000L); // 10 Gwei
+    public static final BigInteger GAS_LIMIT = BigInteger.valueOf(300_000L);
+
+    private final Web3j web3j;
+
+    @Value("${blockchain.token-contract-address}")
+    private String tokenContractAddress;
+
+    @Value("${blockchain.admin-private-key}")
+    private String adminPrivateKey;
+
+    @Value("${blockchain.client.max-concurrent-calls:8}")
+    private int maxConcurrentCalls;
+
+    @Value("${blockchain.client.max-queued-calls:200}")
+    private int maxQueuedCalls;
+
+    @Value("${blockchain.client.call-timeout-ms:10000}")
+    private long callTimeoutMs;
+
+    // 트랜잭션 전송은 영수증 수신까지 기다리므로 별도 제한 시간 사용
+    @Value("${blockchain.client.transaction-timeout-ms:120000}")
+    private long transactionTimeoutMs;
+
+    // 트랜잭션 영수증 조회 주기 (조회 횟수는 transaction-timeout-ms 안에 끝나도록 맞춤)
+    @Value("${blockchain.client.receipt-poll-interval-ms:2000}")
+    private long receiptPollIntervalMs;
+
+    private ExecutorService executor;
+    private Credentials adminCredentials;
+    private VotingToken votingToken;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedCalls),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "blockchain-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        adminCredentials = Credentials.create(adminPrivateKey);
+        int receiptAttempts = (int) Math.max(1, transactionTimeoutMs / receiptPollIntervalMs);
+        votingToken = loadVotingToken(new RawTransactionManager(web3j, adminCredentials, ChainIdLong.NONE,
+                new PollingTransactionReceiptProcessor(web3j, receiptPollIntervalMs, receiptAttempts)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String getTokenContractAddress() {
+        return tokenContractAddress;
+    }
+
+    public String getAdminAddress() {
+        return adminCredentials.getAddress();
+    }
+
+    public Credentials getAdminCredentials() {
+        return adminCredentials;
+    }
+
+    /**
+     * 지정한 트랜잭션 매니저(논스 관리)로 VotingToken 로드
+     */
+    public VotingToken loadVotingToken(TransactionManager transactionManager) {
+        return VotingToken.load(tokenContractAddress, web3j, transactionManager,
+                new StaticGasProvider(GAS_PRICE, GAS_LIMIT));
+    }
+
+    /**
+     * 트랜잭션 영수증 조회 (채굴 전이면 빈 값)
+     */
+    public CompletableFuture<Optional<TransactionReceipt>> getTransactionReceipt(String txHash) {
+        return call("eth_getTransactionReceipt", () -> web3j.ethGetTransactionReceipt(txHash).send().getTransactionReceipt());
+    }
+
+    /**
+     * 최신 블록 번호 조회
+     */
+    public CompletableFuture<BigInteger> getBlockNumber() {
+        return call("eth_blockNumber", () -> web3j.ethBlockNumber().send().getBlockNumber());
+    }
+
+    /**
+     * 블록 구간의 VotingToken Transfer / VoteCast 이벤트 로그 조회
+     */
+    public CompletableFuture<List<Log>> getTokenEventLogs(BigInteger fromBlock, BigInteger toBlock) {
+        return call("eth_getLogs", () -> {
+            EthFilter filter = new EthFilter(
+                    new DefaultBlockParameterNumber(fromBlock),
+                    new DefaultBlockParameterNumber(toBlock),
+                    tokenContractAddress);
+            filter.addOptionalTopics(
+                    EventEncoder.encode(VotingToken.TRANSFER_EVENT),
+                    EventEncoder.encode(VotingToken.VOTECAST_EVENT));
+
+            return web3j.ethGetLogs(filter).send().getLogs().stream()
+                    .map(result -> (Log) ((EthLog.LogObject) result).get())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * ETH 잔액 조회 (wei)
+     */
+    public CompletableFuture<BigInteger> getEthBalance(String address) {
+        return call("eth_getBalance", () -> web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST).send().getBalance());
+    }
+
+    /**
+     * VotingToken 잔액 조회 (wei)
+     */
+    public CompletableFuture<BigInteger> getTokenBalance(String address) {
+        return call("balanceOf", () -> votingToken.balanceOf(address).send());
+    }
+
+    /**
+     * 초기 토큰 수령 여부 조회
+     */
+    public CompletableFuture<Boolean> hasReceivedInitialTokens(String address) {
+        return call("hasReceivedInitialTokens", () -> votingToken.hasReceivedInitialTokens(address).send());
+    }
+
+    /**
+     * 초기 토큰 발급 트랜잭션 전송 (영수증 수신까지 대기)
+     */
+    public CompletableFuture<TransactionReceipt> issueInitialTokens(String address) {
+        return call("issueInitialTokens", () -> votingToken.issueInitialTokens(address).send(), transactionTimeoutMs);
+    }
+
+    /**
+     * 영수증에 포함된 VoteCast 이벤트 추출
+     */
+    public List<VotingToken.VoteCastEventResponse> getVoteCastEvents(TransactionReceipt receipt) {
+        return votingToken.getVoteCastEvents(receipt);
+    }
+
+    private <T> CompletableFuture<T> call(String name, Callable<T> request) {
+        return call(name, request, callTimeoutMs);
+    }
+
+    private <T> CompletableFuture<T> call(String name, Callable<T> request, long timeoutMs) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    future.complete(request.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("블록체인 호출 대기열 초과: {}", name);
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((result, e) -> {
+            if (e instanceof TimeoutException) {
+                log.warn("블록체인 호출 제한 시간 초과, 호출 취소: {} ({}ms)", name, timeoutMs);
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+}
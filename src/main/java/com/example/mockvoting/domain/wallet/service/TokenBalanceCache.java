@@ -0,0 +1,158 @@
+package com.example.mockvoting.domain.wallet.service;
+
+import com.example.mockvoting.domain.wallet.entity.TokenEvent;
+import com.example.mockvoting.domain.wallet.event.TokenEventsIndexedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지갑 주소별 온체인 토큰 잔액 캐시
+ * - VotingTokenIndexer 가 해당 주소의 Transfer / VoteCast 이벤트를 인덱싱하면 무효화한다.
+ * - 이 서버를 거친 잔액 변경(토큰 발급 완료, 메타마스크 투표 검증)은 해당 경로에서 바로 무효화한다.
+ * - 이벤트를 놓친 경우를 대비해 TTL 이 지나면 다시 조회하며, 최대 크기를 넘으면 오래 사용하지 않은 주소부터 제거한다.
+ * - 인덱서가 꺼져 있으면 외부 이체는 TTL 로만 반영되므로 더 짧은 TTL 을 사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenBalanceCache {
+
+    private final BlockchainService blockchainService;
+    private final VotingTokenIndexer votingTokenIndexer;
+
+    @Value("${blockchain.balance-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${blockchain.balance-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    // 인덱서가 꺼져 있을 때의 TTL
+    @Value("${blockchain.balance-cache.ttl-without-indexer-ms:10000}")
+    private long ttlWithoutIndexerMs;
+
+    private Map<String, CachedBalance> balances;
+    private final Map<String, CompletableFuture<BigInteger>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (!votingTokenIndexer.isEnabled()) {
+            ttlMs = Math.min(ttlMs, ttlWithoutIndexerMs);
+            log.info("토큰 이벤트 인덱서 비활성화, 잔액 캐시 TTL {}ms 사용", ttlMs);
+        }
+        balances = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedBalance> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * 캐시된 잔액 조회 (블록체인 응답을 기다리지 않음)
+     * - 캐시에 없거나 만료되었으면 백그라운드 조회를 시작하고 빈 값을 반환
+     */
+    public Optional<BigInteger> getIfPresent(String walletAddress) {
+        String key = normalize(walletAddress);
+        CachedBalance cached = balances.get(key);
+        if (cached != null && !cached.isExpired(ttlMs)) {
+            return Optional.of(cached.balance);
+        }
+
+        load(key);
+        return Optional.empty();
+    }
+
+    /**
+     * 잔액 조회 - 캐시에 없으면 블록체인에서 조회
+     */
+    public CompletableFuture<BigInteger> getBalance(String walletAddress) {
+        String key = normalize(walletAddress);
+        CachedBalance cached = balances.get(key);
+        if (cached != null && !cached.isExpired(ttlMs)) {
+            return CompletableFuture.completedFuture(cached.balance);
+        }
+        return load(key);
+    }
+
+    /**
+     * 주소 잔액 무효화 (진행 중인 조회 결과도 저장하지 않음)
+     */
+    public void invalidate(String walletAddress) {
+        String key = normalize(walletAddress);
+        inFlight.remove(key);
+        balances.remove(key);
+    }
+
+    /**
+     * 인덱싱된 Transfer / VoteCast 이벤트에 포함된 주소 무효화
+     */
+    @EventListener
+    public void onTokenEvents(TokenEventsIndexedEvent indexed) {
+        for (TokenEvent event : indexed.getEvents()) {
+            if (event.getFromAddress() != null) {
+                invalidate(event.getFromAddress());
+            }
+            if (event.getToAddress() != null) {
+                invalidate(event.getToAddress());
+            }
+        }
+        log.debug("토큰 이벤트로 잔액 캐시 무효화: {}건", indexed.getEvents().size());
+    }
+
+    private CompletableFuture<BigInteger> load(String key) {
+        CompletableFuture<BigInteger> existing = inFlight.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        // 인덱서가 전체 이력을 따라잡은 경우 RPC 대신 로컬 인덱스 사용
+        Optional<BigInteger> indexed = votingTokenIndexer.getIndexedBalance(key);
+        if (indexed.isPresent()) {
+            balances.put(key, new CachedBalance(indexed.get()));
+            return CompletableFuture.completedFuture(indexed.get());
+        }
+
+        CompletableFuture<BigInteger> future = blockchainService.getTokenBalance(key);
+        CompletableFuture<BigInteger> raced = inFlight.putIfAbsent(key, future);
+        if (raced != null) {
+            return raced;
+        }
+
+        future.whenComplete((balance, e) -> {
+            // 조회 중 무효화되었다면 결과를 저장하지 않음
+            if (inFlight.remove(key, future) && e == null) {
+                balances.put(key, new CachedBalance(balance));
+            }
+        });
+        return future;
+    }
+
+    private static String normalize(String walletAddress) {
+        return walletAddress.toLowerCase();
+    }
+
+    private static class CachedBalance {
+        private final BigInteger balance;
+        private final long cachedAt = System.currentTimeMillis();
+
+        private CachedBalance(BigInteger balance) {
+            this.balance = balance;
+        }
+
+        private boolean isExpired(long ttlMs) {
+            return System.currentTimeMillis() - cachedAt > ttlMs;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.mockvoting.domain.wallet.service;
+
+import com.example.mockvoting.config.InstanceLeaderLease;
+import com.example.mockvoting.domain.wallet.contract.VotingToken;
+import com.example.mockvoting.domain.wallet.entity.TokenIssuance;
+import com.example.mockvoting.domain.wallet.mapper.TokenIssuanceMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.FastRawTransactionManager;
+import org.web3j.tx.response.NoOpProcessor;
+import org.web3j.utils.Convert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 초기 토큰 발급 큐
+ * - 지갑 연결 요청에서는 token_issuance 에 발급 요청만 저장하고, 전용 워커가 블록체인 트랜잭션을 전송한다.
+ * - 워커는 FastRawTransactionManager 로 논스를 직접 관리하므로 영수증을 기다리지 않고 한 블록에 여러 건을 전송한다.
+ * - blockchain.issuance.batch-enabled 가 true 면 issueInitialTokensBatch 한 번으로 여러 주소에 발급한다.
+ * - 논스 카운터가 인스턴스마다 따로 있으므로 다중 인스턴스에서는 리더만 전송하고, 리더가 되면 논스를 체인 기준으로 다시 맞춘다.
+ * - 요청은 조건부 UPDATE 로 선점(SENDING)한 뒤 전송하므로 리더가 겹치는 순간에도 같은 요청을 두 번 전송하지 않는다.
+ *   선점한 워커가 중단되어 남은 요청은 blockchain.issuance.sending-timeout-seconds 이후 다시 대기로 되돌린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenIssuanceService {
+
+    private final TokenIssuanceMapper tokenIssuanceMapper;
+    private final BlockchainService blockchainService;
+    private final TokenBalanceCache tokenBalanceCache;
+    private final Web3j web3j;
+    private final InstanceLeaderLease instanceLeaderLease;
+
+    private final String workerId = UUID.randomUUID().toString();
+
+    @Value("${blockchain.chain-id}")
+    private BigInteger chainId;
+
+    @Value("${blockchain.issuance.batch-enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${blockchain.issuance.batch-size:20}")
+    private int batchSize;
+
+    @Value("${blockchain.issuance.poll-interval-ms:3000}")
+    private long pollIntervalMs;
+
+    @Value("${blockchain.issuance.max-attempts:5}")
+    private int maxAttempts;
+
+    // 영수증을 기다리는 최대 시간 (초과 시 재전송)
+    @Value("${blockchain.issuance.receipt-timeout-seconds:300}")
+    private long receiptTimeoutSeconds;
+
+    // 선점 후 이 시간 동안 갱신이 없으면 선점한 워커가 중단된 것으로 보고 대기로 되돌림
+    @Value("${blockchain.issuance.sending-timeout-seconds:120}")
+    private long sendingTimeoutSeconds;
+
+    private ScheduledExecutorService worker;
+    private boolean leader;
+    private FastRawTransactionManager transactionManager;
+    private VotingToken votingToken;
+
+    @PostConstruct
+    public void start() {
+        transactionManager = new FastRawTransactionManager(web3j, blockchainService.getAdminCredentials(),
+                chainId.longValue(), new NoOpProcessor(web3j));
+        votingToken = blockchainService.loadVotingToken(transactionManager);
+
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-issuance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::processQueue, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdown();
+    }
+
+    /**
+     * 초기 토큰 발급 요청 등록
+     */
+    public void requestIssuance(String userId, String walletAddress) {
+        // 실패한 요청이 있으면 재시도 대기로 되돌림 (진행 중이거나 완료된 요청은 그대로)
+        tokenIssuanceMapper.insertIssuance(TokenIssuance.builder()
+                .userId(userId)
+                .walletAddress(walletAddress.toLowerCase())
+                .status(TokenIssuance.PENDING)
+                .build());
+        log.info("토큰 발급 요청 등록: userId={}, walletAddress={}", userId, walletAddress);
+    }
+
+    /**
+     * 사용자의 최근 토큰 발급 상태 조회 (요청이 없으면 null)
+     */
+    public String getIssuanceStatus(String userId) {
+        return tokenIssuanceMapper.findLatestByUserId(userId)
+                .map(TokenIssuance::getStatus)
+                .orElse(null);
+    }
+
+    private void processQueue() {
+        if (!instanceLeaderLease.isLeader()) {
+            leader = false;
+            return;
+        }
+        if (!leader) {
+            // 다른 인스턴스가 전송하는 동안 체인의 논스가 앞서 있을 수 있음
+            resetNonce();
+            leader = true;
+        }
+
+        try {
+            confirmSubmitted();
+            submitPending();
+        } catch (Exception e) {
+            log.error("토큰 발급 큐 처리 중 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    // 전송된 트랜잭션의 영수증 확인
+    private void confirmSubmitted() {
+        List<TokenIssuance> submitted = tokenIssuanceMapper.findByStatus(TokenIssuance.SUBMITTED, batchSize * 10);
+        Map<String, List<TokenIssuance>> byTxHash = submitted.stream()
+                .collect(Collectors.groupingBy(TokenIssuance::getTxHash, LinkedHashMap::new, Collectors.toList()));
+
+        byTxHash.forEach((txHash, issuances) -> {
+            List<Long> ids = issuances.stream().map(TokenIssuance::getId).collect(Collectors.toList());
+            Optional<TransactionReceipt> receipt = blockchainService.getTransactionReceipt(txHash).join();
+
+            if (receipt.isEmpty()) {
+                LocalDateTime submittedAt = issuances.get(0).getSubmittedAt();
+                if (submittedAt != null && submittedAt.plusSeconds(receiptTimeoutSeconds).isBefore(LocalDateTime.now())) {
+                    log.warn("토큰 발급 영수증 대기 시간 초과, 재전송 예정: txHash={}", txHash);
+                    tokenIssuanceMapper.markRetry(ids, maxAttempts, "영수증 대기 시간 초과");
+                    resetNonce();
+                }
+                return;
+            }
+
+            if (receipt.get().isStatusOK()) {
+                tokenIssuanceMapper.markConfirmed(ids);
+                issuances.forEach(issuance -> tokenBalanceCache.invalidate(issuance.getWalletAddress()));
+                log.info("토큰 발급 완료: txHash={}, 건수={}", txHash, ids.size());
+            } else {
+                log.warn("토큰 발급 트랜잭션 실패: txHash={}, status={}", txHash, receipt.get().getStatus());
+                tokenIssuanceMapper.markRetry(ids, maxAttempts, "트랜잭션 실패: " + receipt.get().getStatus());
+            }
+        });
+    }
+
+    // 대기 중인 발급 요청 선점 후 전송 (전송하지 못하고 남은 요청은 대기로 되돌림)
+    private void submitPending() {
+        int released = tokenIssuanceMapper.releaseStale(workerId, sendingTimeoutSeconds);
+        if (released > 0) {
+            log.warn("전송되지 않고 남은 토큰 발급 요청을 대기로 되돌림: 건수={}", released);
+        }
+
+        if (tokenIssuanceMapper.claimPending(workerId, batchSize) == 0) {
+            return;
+        }
+
+        try {
+            submitClaimed(tokenIssuanceMapper.findClaimed(workerId));
+        } finally {
+            tokenIssuanceMapper.releaseClaimed(workerId);
+        }
+    }
+
+    private void submitClaimed(List<TokenIssuance> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        checkAdminBalance();
+
+        if (batchEnabled) {
+            List<Long> ids = pending.stream().map(TokenIssuance::getId).collect(Collectors.toList());
+            List<String> addresses = pending.stream().map(TokenIssuance::getWalletAddress).collect(Collectors.toList());
+            try {
+                String txHash = votingToken.issueInitialTokensBatch(addresses).send().getTransactionHash();
+                tokenIssuanceMapper.markSubmitted(ids, txHash);
+                log.info("토큰 일괄 발급 트랜잭션 전송: txHash={}, 건수={}", txHash, ids.size());
+            } catch (Exception e) {
+                onSendFailure(ids, e);
+            }
+            return;
+        }
+
+        for (TokenIssuance issuance : pending) {
+            List<Long> ids = List.of(issuance.getId());
+            try {
+                if (blockchainService.hasReceivedInitialTokens(issuance.getWalletAddress()).join()) {
+                    log.info("이미 토큰을 받은 주소입니다: {}", issuance.getWalletAddress());
+                    tokenIssuanceMapper.markConfirmed(ids);
+                    continue;
+                }
+
+                String txHash = votingToken.issueInitialTokens(issuance.getWalletAddress()).send().getTransactionHash();
+                tokenIssuanceMapper.markSubmitted(ids, txHash);
+                log.info("토큰 발급 트랜잭션 전송: walletAddress={}, txHash={}", issuance.getWalletAddress(), txHash);
+            } catch (Exception e) {
+                onSendFailure(ids, e);
+                return; // 논스를 다시 맞춘 뒤 다음 주기에 이어서 전송
+            }
+        }
+    }
+
+    private void onSendFailure(List<Long> ids, Exception e) {
+        log.error("토큰 발급 트랜잭션 전송 실패: {}", e.getMessage());
+        String message = String.valueOf(e.getMessage());
+        tokenIssuanceMapper.markRetry(ids, maxAttempts, message.length() > 500 ? message.substring(0, 500) : message);
+        resetNonce();
+    }
+
+    private void resetNonce() {
+        try {
+            transactionManager.resetNonce();
+        } catch (Exception e) {
+            log.warn("논스 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Admin 잔액 확인
+     */
+    private void checkAdminBalance() {
+        try {
+            String adminAddress = blockchainService.getAdminAddress();
+            BigInteger weiBalance = blockchainService.getEthBalance(adminAddress).join();
+            BigDecimal etherBalance = Convert.fromWei(
+                    new BigDecimal(weiBalance), Convert.Unit.ETHER);
+
+            log.debug("Admin 계정 잔액: {} ETH", etherBalance);
+
+            // 최소 가스비 확인
+            BigInteger requiredGas = BlockchainService.GAS_PRICE.multiply(BlockchainService.GAS_LIMIT);
+            if (weiBalance.compareTo(requiredGas) < 0) {
+                log.error("Admin 계정 가스비 부족! 필요: {} wei, 현재: {} wei",
+                        requiredGas, weiBalance);
+            }
+        } catch (Exception e) {
+            log.error("Admin 잔액 확인 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.mockvoting.domain.wallet.service;
+
+import com.example.mockvoting.config.InstanceLeaderLease;
+import com.example.mockvoting.domain.wallet.contract.VotingToken;
+import com.example.mockvoting.domain.wallet.entity.TokenEvent;
+import com.example.mockvoting.domain.wallet.event.TokenEventsIndexedEvent;
+import com.example.mockvoting.domain.wallet.mapper.TokenEventMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.tx.Contract;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * VotingToken 이벤트 인덱서
+ * - 체크포인트 블록 이후의 VoteCast / Transfer 로그를 token_event_log 에 저장한다.
+ * - 투표 트랜잭션 검증과 잔액 조회를 RPC 대신 로컬 조회로 처리할 수 있게 한다.
+ * - 잔액은 blockchain.indexer.start-block 을 컨트랙트 배포 블록으로 설정해 전체 이력을 인덱싱한 경우에만 제공한다.
+ * - 다중 인스턴스에서는 리더만 로그를 조회해 저장한다. 나머지 인스턴스는 저장된 체크포인트를 따라가며
+ *   새로 저장된 이벤트를 읽어 같은 TokenEventsIndexedEvent 를 발행한다. (인스턴스별 잔액 캐시 무효화)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VotingTokenIndexer {
+
+    private static final String CHECKPOINT_NAME = "voting-token";
+    private static final String VOTE_CAST_TOPIC = EventEncoder.encode(VotingToken.VOTECAST_EVENT);
+    private static final String TRANSFER_TOPIC = EventEncoder.encode(VotingToken.TRANSFER_EVENT);
+
+    private final BlockchainService blockchainService;
+    private final TokenEventMapper tokenEventMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InstanceLeaderLease instanceLeaderLease;
+
+    @Value("${blockchain.indexer.enabled:true}")
+    private boolean enabled;
+
+    // 컨트랙트 배포 블록 (-1 이면 인덱서 최초 실행 시점의 블록부터)
+    @Value("${blockchain.indexer.start-block:-1}")
+    private long startBlock;
+
+    // 재구성(reorg) 대비 확정 대기 블록 수
+    @Value("${blockchain.indexer.confirmations:0}")
+    private long confirmations;
+
+    @Value("${blockchain.indexer.max-block-range:1000}")
+    private long maxBlockRange;
+
+    private final AtomicBoolean indexing = new AtomicBoolean();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 마지막으로 인덱싱한 블록
+    private volatile Long checkpoint;
+    // 마지막으로 확인한 확정 블록
+    private volatile long safeHead = -1;
+
+    @Scheduled(fixedDelayString = "${blockchain.indexer.poll-interval-ms:3000}")
+    public void poll() {
+        if (!enabled || !indexing.compareAndSet(false, true)) {
+            return;
+        }
+
+        boolean leader = instanceLeaderLease.isLeader();
+        blockchainService.getBlockNumber()
+                .thenCompose(head -> {
+                    safeHead = head.longValue() - confirmations;
+                    if (!leader) {
+                        followCheckpoint();
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    long from = nextBlock();
+                    if (from > safeHead) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    long to = Math.min(safeHead, from + maxBlockRange - 1);
+                    return blockchainService.getTokenEventLogs(BigInteger.valueOf(from), BigInteger.valueOf(to))
+                            .thenAccept(logs -> store(logs, to));
+                })
+                .whenComplete((result, e) -> {
+                    indexing.set(false);
+                    if (e != null) {
+                        log.warn("VotingToken 이벤트 인덱싱 실패: {}", e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * 인덱싱된 VoteCast 이벤트로 투표 트랜잭션 검증
+     * - 아직 인덱싱되지 않은 트랜잭션이면 빈 값
+     */
+    public Optional<Boolean> verifyVoteCast(String txHash, String walletAddress, Integer candidateId) {
+        List<TokenEvent> events = tokenEventMapper.findVoteCastsByTxHash(txHash.toLowerCase());
+        if (events.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(events.stream().anyMatch(event ->
+                event.getFromAddress().equalsIgnoreCase(walletAddress)
+                        && event.getCandidateId() != null
+                        && event.getCandidateId() == candidateId.longValue()));
+    }
+
+    /**
+     * 인덱싱된 Transfer 이벤트 기준 토큰 잔액 (wei)
+     * - 전체 이력을 인덱싱하지 않았거나 최신 블록을 따라잡지 못했으면 빈 값
+     */
+    public Optional<BigInteger> getIndexedBalance(String walletAddress) {
+        Long indexed = checkpoint;
+        if (startBlock < 0 || indexed == null || indexed < safeHead) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(tokenEventMapper.getTransferBalance(walletAddress.toLowerCase()));
+    }
+
+    private long nextBlock() {
+        if (checkpoint == null) {
+            Long saved = tokenEventMapper.findCheckpoint(CHECKPOINT_NAME);
+            checkpoint = saved != null ? saved : (startBlock >= 0 ? startBlock - 1 : safeHead);
+            log.info("VotingToken 인덱서 시작 블록: {}", checkpoint + 1);
+        }
+        return checkpoint + 1;
+    }
+
+    // 리더가 저장한 체크포인트까지의 이벤트를 읽어 발행
+    private void followCheckpoint() {
+        Long saved = tokenEventMapper.findCheckpoint(CHECKPOINT_NAME);
+        if (saved == null) {
+            return;
+        }
+
+        Long previous = checkpoint;
+        checkpoint = saved;
+        if (previous == null || saved <= previous) {
+            return;
+        }
+
+        List<TokenEvent> events = tokenEventMapper.findEventsByBlockRange(previous + 1, saved);
+        if (!events.isEmpty()) {
+            log.debug("VotingToken 이벤트 반영 (리더 인덱싱): {}건, 블록 {}까지", events.size(), saved);
+            eventPublisher.publishEvent(new TokenEventsIndexedEvent(events));
+        }
+    }
+
+    private void store(List<Log> logs, long toBlock) {
+        List<TokenEvent> events = new ArrayList<>();
+        for (Log eventLog : logs) {
+            TokenEvent event = toTokenEvent(eventLog);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!events.isEmpty()) {
+                tokenEventMapper.insertEvents(events);
+            }
+            tokenEventMapper.saveCheckpoint(CHECKPOINT_NAME, toBlock);
+        });
+        checkpoint = toBlock;
+
+        if (!events.isEmpty()) {
+            log.info("VotingToken 이벤트 인덱싱: {}건, 블록 {}까지", events.size(), toBlock);
+            eventPublisher.publishEvent(new TokenEventsIndexedEvent(events));
+        }
+    }
+
+    private TokenEvent toTokenEvent(Log eventLog) {
+        if (eventLog.getTopics().isEmpty()) {
+            return null;
+        }
+
+        String topic = eventLog.getTopics().get(0);
+        TokenEvent.TokenEventBuilder builder = TokenEvent.builder()
+                .blockNumber(eventLog.getBlockNumber().longValue())
+                .txHash(eventLog.getTransactionHash().toLowerCase())
+                .logIndex(eventLog.getLogIndex().intValue());
+
+        if (VOTE_CAST_TOPIC.equals(topic)) {
+            EventValues values = Contract.staticExtractEventParameters(VotingToken.VOTECAST_EVENT, eventLog);
+            return builder
+                    .eventType(TokenEvent.VOTE_CAST)
+                    .fromAddress(addressOf(values.getIndexedValues().get(0)))
+                    .candidateId(((BigInteger) values.getNonIndexedValues().get(0).getValue()).longValue())
+                    .build();
+        }
+
+        if (TRANSFER_TOPIC.equals(topic)) {
+            EventValues values = Contract.staticExtractEventParameters(VotingToken.TRANSFER_EVENT, eventLog);
+            return builder
+                    .eventType(TokenEvent.TRANSFER)
+                    .fromAddress(addressOf(values.getIndexedValues().get(0)))
+                    .toAddress(addressOf(values.getIndexedValues().get(1)))
+                    .amount((BigInteger) values.getNonIndexedValues().get(0).getValue())
+                    .build();
+        }
+
+        return null;
+    }
+
+    private static String addressOf(Type<?> value) {
+        return value.getValue().toString().toLowerCase();
+    }
+}
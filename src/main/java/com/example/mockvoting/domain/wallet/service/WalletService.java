@@ -9,25 +9,16 @@ import com.example.mockvoting.domain.user.mapper.UserMapper;
 import com.example.mockvoting.exception.CustomException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.web3j.crypto.Credentials;
-import org.web3j.protocol.Web3j;
-import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.response.EthGetBalance;
-import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
-import org.web3j.protocol.http.HttpService;
-import org.web3j.tx.gas.ContractGasProvider;
-import org.web3j.tx.gas.StaticGasProvider;
-import org.web3j.utils.Convert;
 
-import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
@@ -36,34 +27,14 @@ public class WalletService {
 
     private final WalletMapper walletMapper;
     private final UserMapper userMapper;
-
-    @Value("${blockchain.rpc-url}")
-    private String rpcUrl;
-
-    @Value("${blockchain.token-contract-address}")
-    private String tokenContractAddress;
-
-    @Value("${blockchain.admin-private-key}")
-    private String adminPrivateKey;
-
-    @Value("${blockchain.chain-id}")
-    private BigInteger chainId;
-
-    // 가스 설정 (테스트넷용으로 낮춤)
-    private static final BigInteger GAS_PRICE = BigInteger.valueOf(10_000_000_000L); // 10 Gwei
-    private static final BigInteger GAS_LIMIT = BigInteger.valueOf(300_000L);
+    private final BlockchainService blockchainService;
+    private final TokenBalanceCache tokenBalanceCache;
+    private final TokenIssuanceService tokenIssuanceService;
+    private final VotingTokenIndexer votingTokenIndexer;
 
     // 초기 토큰 양 (UI 표시)
     private static final int INITIAL_TOKEN_AMOUNT = 1;
 
-    private Web3j getWeb3j() {
-        return Web3j.build(new HttpService(rpcUrl));
-    }
-
-    private ContractGasProvider getGasProvider() {
-        return new StaticGasProvider(GAS_PRICE, GAS_LIMIT);
-    }
-
     /**
      * 사용자 지갑 연결 (일반) - 호환성을 위해 유지
      */
@@ -127,33 +98,15 @@ public class WalletService {
             if (!user.isHasReceivedToken()) {
                 log.info("사용자가 토큰을 받은 적이 없습니다. 토큰 발급을 시도합니다.");
 
-                // 1. 블록체인에서 현재 잔액 확인
-                BigInteger currentBalance = getTokenBalanceFromBlockchain(walletAddress);
+                // 1. 블록체인에서 현재 잔액 확인 (캐시 우선)
+                BigInteger currentBalance = tokenBalanceCache.getBalance(walletAddress).join();
                 int tokenBalance = currentBalance.divide(BigInteger.TEN.pow(18)).intValue();
                 log.info("블록체인 토큰 잔액: {} (wei: {})", tokenBalance, currentBalance);
 
-                // 2. 토큰이 없으면 발급 시도
+                // 2. 토큰이 없으면 발급 요청 (블록체인 전송은 TokenIssuanceService 워커가 처리, 잔액은 DB에서 먼저 반영)
                 if (tokenBalance == 0) {
-                    log.info("토큰이 없으므로 발급을 시도합니다.");
-
-                    try {
-                        // Admin 잔액 확인
-                        checkAdminBalance();
-
-                        // 블록체인에 토큰 발급
-                        boolean tokenIssued = issueTokenOnBlockchain(walletAddress);
-
-                        if (tokenIssued) {
-                            tokenBalance = INITIAL_TOKEN_AMOUNT;
-                            log.info("블록체인 토큰 발급 성공!");
-                        } else {
-                            log.warn("블록체인 토큰 발급 실패, DB에서만 관리");
-                            tokenBalance = INITIAL_TOKEN_AMOUNT;
-                        }
-                    } catch (Exception e) {
-                        log.error("블록체인 토큰 발급 중 오류, DB에서만 관리: {}", e.getMessage());
-                        tokenBalance = INITIAL_TOKEN_AMOUNT;
-                    }
+                    tokenIssuanceService.requestIssuance(userId, walletAddress);
+                    tokenBalance = INITIAL_TOKEN_AMOUNT;
 
                     // 사용자 토큰 발급 상태 업데이트
                     userMapper.updateUserTokenStatus(userId, true);
@@ -166,9 +119,8 @@ public class WalletService {
                 log.info("최종 토큰 잔액: {}", tokenBalance);
             } else {
                 log.info("사용자가 이미 토큰을 받았습니다. 현재 잔액을 유지합니다.");
-                // 기존 잔액 유지 - 블록체인에서 잔액 확인하여 동기화
-                try {
-                    BigInteger currentBalance = getTokenBalanceFromBlockchain(walletAddress);
+                // 기존 잔액 유지 - 캐시된 블록체인 잔액이 있을 때만 동기화 (없으면 백그라운드 조회 후 다음 연결 때 반영)
+                tokenBalanceCache.getIfPresent(walletAddress).ifPresent(currentBalance -> {
                     int tokenBalance = currentBalance.divide(BigInteger.TEN.pow(18)).intValue();
 
                     // 블록체인 잔액과 DB 잔액이 다르면 업데이트
@@ -177,9 +129,7 @@ public class WalletService {
                         wallet.setTokenBalance(tokenBalance);
                         log.info("블록체인 잔액과 동기화: {}", tokenBalance);
                     }
-                } catch (Exception e) {
-                    log.warn("블록체인 잔액 확인 실패, DB 잔액 유지: {}", e.getMessage());
-                }
+                });
             }
 
         } catch (Exception e) {
@@ -285,26 +235,17 @@ public class WalletService {
 
                         try {
                             // 블록체인에서 실제 잔액 확인
-                            BigInteger balance = getTokenBalanceFromBlockchain(wallet.getWalletAddress());
+                            BigInteger balance = tokenBalanceCache.getBalance(wallet.getWalletAddress()).join();
                             int tokenBalance = balance.divide(BigInteger.TEN.pow(18)).intValue();
 
                             if (tokenBalance == 0) {
-                                // 토큰 발급 시도
-                                boolean issued = issueTokenOnBlockchain(wallet.getWalletAddress());
-                                if (issued) {
-                                    tokenBalance = INITIAL_TOKEN_AMOUNT;
-                                    walletMapper.updateTokenBalance(userId, tokenBalance);
-                                    userMapper.updateUserTokenStatus(userId, true);
-                                    wallet.setTokenBalance(tokenBalance);
-                                    log.info("토큰 발급 성공!");
-                                } else {
-                                    // 블록체인 발급 실패 시 DB만 업데이트
-                                    tokenBalance = INITIAL_TOKEN_AMOUNT;
-                                    walletMapper.updateTokenBalance(userId, tokenBalance);
-                                    userMapper.updateUserTokenStatus(userId, true);
-                                    wallet.setTokenBalance(tokenBalance);
-                                    log.info("블록체인 발급 실패, DB만 업데이트");
-                                }
+                                // 토큰 발급 요청 (블록체인 전송은 발급 큐 워커가 처리)
+                                tokenIssuanceService.requestIssuance(userId, wallet.getWalletAddress());
+                                tokenBalance = INITIAL_TOKEN_AMOUNT;
+                                walletMapper.updateTokenBalance(userId, tokenBalance);
+                                userMapper.updateUserTokenStatus(userId, true);
+                                wallet.setTokenBalance(tokenBalance);
+                                log.info("토큰 발급 요청 등록, DB 잔액 반영");
                             } else {
                                 userMapper.updateUserTokenStatus(userId, true);
                                 log.info("블록체인에 이미 토큰이 있음, 사용자 토큰 발급 상태 업데이트");
@@ -325,6 +266,7 @@ public class WalletService {
                             .tokenBalance(wallet.getTokenBalance())
                             .walletType(wallet.getWalletType())
                             .connected(true)
+                            .issuanceStatus(tokenIssuanceService.getIssuanceStatus(userId))
                             .build();
                 })
                 .orElse(WalletResponseDTO.builder()
@@ -332,109 +274,16 @@ public class WalletService {
                         .build());
     }
 
-    /**
-     * Admin 잔액 확인
-     */
-    private void checkAdminBalance() {
-        Web3j web3j = null;
-        try {
-            web3j = getWeb3j();
-            Credentials adminCredentials = Credentials.create(adminPrivateKey);
-            String adminAddress = adminCredentials.getAddress();
-
-            EthGetBalance balance = web3j.ethGetBalance(
-                    adminAddress, DefaultBlockParameterName.LATEST).send();
-
-            BigInteger weiBalance = balance.getBalance();
-            BigDecimal etherBalance = Convert.fromWei(
-                    new BigDecimal(weiBalance), Convert.Unit.ETHER);
-
-            log.info("Admin 계정 주소: {}", adminAddress);
-            log.info("Admin 계정 잔액: {} ETH", etherBalance);
-
-            // 최소 가스비 확인
-            BigInteger requiredGas = GAS_PRICE.multiply(GAS_LIMIT);
-            if (weiBalance.compareTo(requiredGas) < 0) {
-                log.error("Admin 계정 가스비 부족! 필요: {} wei, 현재: {} wei",
-                        requiredGas, weiBalance);
-            }
-        } catch (Exception e) {
-            log.error("Admin 잔액 확인 실패: {}", e.getMessage());
-        } finally {
-            if (web3j != null) {
-                web3j.shutdown();
-            }
-        }
-    }
-
-    /**
-     * 블록체인 토큰 발급 - 간소화 버전
-     */
-    private boolean issueTokenOnBlockchain(String recipientAddress) {
-        log.info("블록체인 토큰 발급 시작: {}", recipientAddress);
-
-        Web3j web3j = null;
-        try {
-            web3j = getWeb3j();
-            Credentials adminCredentials = Credentials.create(adminPrivateKey);
-
-            // 컨트랙트 로드
-            VotingToken votingToken = VotingToken.load(
-                    tokenContractAddress,
-                    web3j,
-                    adminCredentials,
-                    getGasProvider()
-            );
-
-            // 이미 토큰을 받았는지 확인
-            Boolean hasReceived = votingToken.hasReceivedInitialTokens(recipientAddress).send();
-            if (hasReceived) {
-                log.info("이미 토큰을 받은 주소입니다.");
-                return true;
-            }
-
-            // 토큰 발급 트랜잭션
-            log.info("토큰 발급 트랜잭션 전송...");
-            TransactionReceipt receipt = votingToken.issueInitialTokens(recipientAddress).send();
-
-            log.info("트랜잭션 해시: {}", receipt.getTransactionHash());
-            log.info("트랜잭션 상태: {}", receipt.getStatus());
-
-            return receipt.isStatusOK();
-
-        } catch (Exception e) {
-            log.error("블록체인 토큰 발급 오류: {}", e.getMessage());
-            return false;
-        } finally {
-            if (web3j != null) {
-                web3j.shutdown();
-            }
-        }
-    }
-
     /**
      * 블록체인에서 토큰 잔액 조회
      */
     public BigInteger getTokenBalanceFromBlockchain(String walletAddress) throws Exception {
-        Web3j web3j = null;
         try {
-            web3j = getWeb3j();
-            Credentials adminCredentials = Credentials.create(adminPrivateKey);
-
-            VotingToken votingToken = VotingToken.load(
-                    tokenContractAddress,
-                    web3j,
-                    adminCredentials,
-                    getGasProvider()
-            );
-
-            BigInteger balance = votingToken.balanceOf(walletAddress).send();
+            BigInteger balance = blockchainService.getTokenBalance(walletAddress).join();
             log.info("블록체인 토큰 잔액 조회: {} wei", balance);
             return balance;
-        } finally {
-            if (web3j != null) {
-                web3j.shutdown();
-            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
         }
     }
 
@@ -547,71 +396,67 @@ public class WalletService {
      * 트랜잭션 검증 (투표용)
      */
     public boolean verifyTransaction(String txHash, String walletAddress, Integer candidateId) {
-        Web3j web3j = null;
-        try {
-            web3j = getWeb3j();
-
-            EthGetTransactionReceipt transactionReceipt = web3j.ethGetTransactionReceipt(txHash).send();
-
-            if (!transactionReceipt.hasError() && transactionReceipt.getTransactionReceipt().isPresent()) {
-                TransactionReceipt receipt = transactionReceipt.getTransactionReceipt().get();
-
-                // 컨트랙트 주소 확인
-                if (!receipt.getTo().equalsIgnoreCase(tokenContractAddress)) {
-                    log.error("트랜잭션 대상이 VotingToken 컨트랙트가 아님");
-                    return false;
-                }
+        return verifyTransactionAsync(txHash, walletAddress, candidateId).join();
+    }
 
-                // 트랜잭션 발신자 확인
-                if (!receipt.getFrom().equalsIgnoreCase(walletAddress)) {
-                    log.error("트랜잭션 발신자가 일치하지 않음");
-                    return false;
-                }
+    /**
+     * 트랜잭션 검증 - 비동기
+     */
+    public CompletableFuture<Boolean> verifyTransactionAsync(String txHash, String walletAddress, Integer candidateId) {
+        // 인덱싱된 VoteCast 이벤트가 있으면 RPC 없이 검증
+        Optional<Boolean> indexed = votingTokenIndexer.verifyVoteCast(txHash, walletAddress, candidateId);
+        if (indexed.isPresent()) {
+            log.info("인덱싱된 이벤트로 트랜잭션 검증: txHash={}, valid={}", txHash, indexed.get());
+            return CompletableFuture.completedFuture(indexed.get());
+        }
 
-                // 트랜잭션 상태 확인
-                if (!receipt.isStatusOK()) {
-                    log.error("트랜잭션이 실패함");
+        return blockchainService.getTransactionReceipt(txHash)
+                .thenApply(receiptOpt -> receiptOpt
+                        .map(receipt -> isValidVoteReceipt(receipt, walletAddress, candidateId))
+                        .orElse(false))
+                .exceptionally(e -> {
+                    log.error("트랜잭션 검증 오류: {}", e.getMessage());
                     return false;
-                }
-
-                // VotingToken 컨트랙트 로드하여 이벤트 확인
-                Credentials adminCredentials = Credentials.create(adminPrivateKey);
-                VotingToken votingToken = VotingToken.load(
-                        tokenContractAddress,
-                        web3j,
-                        adminCredentials,
-                        getGasProvider()
-                );
+                });
+    }
 
-                // VoteCast 이벤트 검증
-                List<VotingToken.VoteCastEventResponse> events = votingToken.getVoteCastEvents(receipt);
+    private boolean isValidVoteReceipt(TransactionReceipt receipt, String walletAddress, Integer candidateId) {
+        // 컨트랙트 주소 확인
+        if (!receipt.getTo().equalsIgnoreCase(blockchainService.getTokenContractAddress())) {
+            log.error("트랜잭션 대상이 VotingToken 컨트랙트가 아님");
+            return false;
+        }
 
-                if (events.isEmpty()) {
-                    log.error("트랜잭션에서 VoteCast 이벤트를 찾을 수 없음");
-                    return false;
-                }
+        // 트랜잭션 발신자 확인
+        if (!receipt.getFrom().equalsIgnoreCase(walletAddress)) {
+            log.error("트랜잭션 발신자가 일치하지 않음");
+            return false;
+        }
 
-                // 이벤트 파라미터 검증
-                for (VotingToken.VoteCastEventResponse event : events) {
-                    if (event.voter.equalsIgnoreCase(walletAddress) &&
-                            event.candidateId.intValue() == candidateId) {
-                        log.info("트랜잭션 검증 성공");
-                        return true;
-                    }
-                }
+        // 트랜잭션 상태 확인
+        if (!receipt.isStatusOK()) {
+            log.error("트랜잭션이 실패함");
+            return false;
+        }
 
-                log.error("트랜잭션의 이벤트 파라미터가 일치하지 않음");
-                return false;
-            }
+        // VoteCast 이벤트 검증
+        List<VotingToken.VoteCastEventResponse> events = blockchainService.getVoteCastEvents(receipt);
 
+        if (events.isEmpty()) {
+            log.error("트랜잭션에서 VoteCast 이벤트를 찾을 수 없음");
             return false;
-        } catch (Exception e) {
-            log.error("트랜잭션 검증 오류: {}", e.getMessage());
-            return false;
-        } finally {
-            if (web3j != null) {
-                web3j.shutdown();
+        }
+
+        // 이벤트 파라미터 검증
+        for (VotingToken.VoteCastEventResponse event : events) {
+            if (event.voter.equalsIgnoreCase(walletAddress) &&
+                    event.candidateId.intValue() == candidateId) {
+                log.info("트랜잭션 검증 성공");
+                return true;
             }
         }
+
+        log.error("트랜잭션의 이벤트 파라미터가 일치하지 않음");
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -61,6 +61,8 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
                 (path.startsWith("/api/community/posts") && method.equals("GET") && !path.matches(".*/edit$"))||
                 (path.startsWith("/ws"))
         ) {
+            // 공개 경로라도 유효한 토큰이 있으면 사용자 ID를 설정 (게시글 조회수 중복 제외 등에서 사용)
+            setOptionalUser(request);
             filterChain.doFilter(request, response);
             return;
         }
@@ -119,6 +121,20 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         }
     }
 
+    // 공개 경로용 선택적 인증: 토큰이 없거나 유효하지 않아도 요청을 막지 않음
+    private void setOptionalUser(HttpServletRequest request) {
+        try {
+            jwtUtil.resolveToken(request)
+                    .filter(jwtUtil::validateToken)
+                    .ifPresent(token -> {
+                        request.setAttribute("userId", jwtUtil.getUserIdFromToken(token));
+                        request.setAttribute("role", jwtUtil.getRoleFromToken(token));
+                    });
+        } catch (Exception e) {
+            log.debug("공개 경로 토큰 확인 실패: {}", e.getMessage());
+        }
+    }
+
     private void setErrorResponse(HttpServletResponse response, HttpStatus status, String message) throws IOException {
         response.setStatus(status.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -0,0 +1,79 @@
+package com.example.mockvoting.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 클라이언트 IP 확인 (로드밸런서/리버스 프록시 뒤에서 실행될 때)
+ * - 직접 연결한 주소가 신뢰하는 프록시일 때만 X-Forwarded-For 를 사용하고,
+ *   오른쪽(가장 가까운 프록시)부터 신뢰하는 프록시를 건너뛴 첫 주소를 클라이언트로 본다.
+ * - 클라이언트가 보낸 X-Forwarded-For 를 그대로 믿지 않으므로 헤더 위조로 다른 사용자 행세를 할 수 없다.
+ * - 기본값은 사설망/루프백 주소를 신뢰한다. (Tomcat RemoteIpValve 의 internalProxies 와 같은 기준)
+ */
+@Component
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9a-fA-F:.]+");
+
+    // 사설망/루프백 주소를 신뢰하는 프록시로 볼지 여부
+    private final boolean trustPrivateProxies;
+
+    // 추가로 신뢰하는 프록시 주소 (쉼표 구분)
+    private final Set<String> trustedProxies;
+
+    public ClientIpResolver(@Value("${client-ip.trust-private-proxies:true}") boolean trustPrivateProxies,
+                            @Value("${client-ip.trusted-proxies:}") String trustedProxies) {
+        this.trustPrivateProxies = trustPrivateProxies;
+        this.trustedProxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!IP_LITERAL.matcher(hop).matches()) {
+                // 주소 형식이 아니면 그 앞의 값은 믿을 수 없으므로 마지막으로 확인된 프록시를 사용
+                break;
+            }
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+            remoteAddr = hop;
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrusted(String address) {
+        if (trustedProxies.contains(address)) {
+            return true;
+        }
+        if (!trustPrivateProxies || address == null || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        try {
+            // IP 리터럴만 전달하므로 DNS 조회는 일어나지 않음
+            InetAddress inetAddress = InetAddress.getByName(address);
+            return inetAddress.isSiteLocalAddress() || inetAddress.isLoopbackAddress()
+                    || inetAddress.isLinkLocalAddress();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.mockvoting.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 비속어 사전 매처 (Aho-Corasick)
+ * - profanity/profanity.json 을 시작 시 한 번 오토마톤으로 컴파일하고, 검사는 입력을 한 번 훑는 것으로 끝낸다.
+ * - 비교는 음절 단위로 한다. 자모를 풀어 쓴 구간("ㅅㅣ발")만 음절로 조합해 비교하고, 완성형 음절은 그대로 비교한다.
+ * - 공백은 단어 경계로 보아 건너뛰지 않는다. ("다시 발표" 는 검출하지 않음)
+ * - 단어 안의 숫자/기호는 건너뛰므로 "시1발", "시.발" 은 같은 단어로 본다.
+ * - 초성 약어는 자동으로 만들지 않고 사전의 initials 목록에 등록된 것만 검사한다. ("ㅇㅋ" 같은 일상 약어 오검출 방지)
+ * - 채팅, 게시글, 댓글 검사에서 공용으로 사용
+ */
+@Slf4j
+@Component
+public class ProfanityMatcher {
+
+    private static final String DICTIONARY_PATH = "profanity/profanity.json";
+
+    private static final char SYLLABLE_BASE = '가';
+    private static final char COMPAT_CONSONANT_START = 'ㄱ';
+    private static final char COMPAT_CONSONANT_END = 'ㅎ';
+    private static final char COMPAT_VOWEL_START = 'ㅏ';
+    private static final char COMPAT_VOWEL_END = 'ㅣ';
+
+    // 호환용 자음(ㄱ~ㅎ) → 초성 번호 (-1 이면 초성으로 쓸 수 없음)
+    private static final int[] CHOSEONG_INDEX = {
+            0, 1, -1, 2, -1, -1, 3, 4, 5, -1, -1, -1, -1, -1, -1, -1,
+            6, 7, 8, -1, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18
+    };
+
+    // 호환용 자음(ㄱ~ㅎ) → 종성 번호 (-1 이면 종성으로 쓸 수 없음)
+    private static final int[] JONGSEONG_INDEX = {
+            1, 2, 3, 4, 5, 6, 7, -1, 8, 9, 10, 11, 12, 13, 14, 15,
+            16, 17, -1, 18, 19, 20, 21, 22, -1, 23, 24, 25, 26, 27
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 사전의 initials(초성 약어) 목록 사용 여부
+    @Value("${profanity.initial-consonant-match:true}")
+    private boolean initialConsonantMatch;
+
+    private volatile Automaton automaton = Automaton.compile(Set.of());
+
+    @PostConstruct
+    public void init() {
+        try (InputStream inputStream = new ClassPathResource(DICTIONARY_PATH).getInputStream()) {
+            JsonNode root = objectMapper.readTree(inputStream);
+
+            Set<String> patterns = new LinkedHashSet<>();
+            addPatterns(patterns, root.get("profanity"));
+            if (initialConsonantMatch) {
+                addPatterns(patterns, root.get("initials"));
+            }
+
+            automaton = Automaton.compile(patterns);
+            log.info("비속어 사전 로드 완료: 패턴 수={}, 상태 수={}", patterns.size(), automaton.stateCount);
+        } catch (IOException e) {
+            log.error("비속어 사전 로드 실패: {}", DICTIONARY_PATH, e);
+        }
+    }
+
+    /**
+     * 비속어 포함 여부
+     */
+    public boolean containsProfanity(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+
+        Automaton current = automaton;
+        int state = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            int consumed = composedLength(text, i);
+            char symbol = consumed > 1 ? compose(text, i, consumed) : text.charAt(i);
+            i += consumed;
+
+            // 단어 안의 숫자/기호는 건너뜀 (공백은 사전에 없는 문자이므로 처음 상태로 돌아감)
+            if (!Character.isLetter(symbol) && !Character.isWhitespace(symbol)) {
+                continue;
+            }
+            state = current.next(state, Character.toLowerCase(symbol));
+            if (current.output[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addPatterns(Set<String> patterns, JsonNode words) {
+        if (words == null || !words.isArray()) {
+            return;
+        }
+        for (JsonNode node : words) {
+            String normalized = normalize(node.asText());
+            if (!normalized.isEmpty()) {
+                patterns.add(normalized);
+            }
+        }
+    }
+
+    // 단어를 매칭용 음절열로 변환 (검사 시 containsProfanity 와 같은 규칙)
+    private static String normalize(String word) {
+        StringBuilder sb = new StringBuilder(word.length());
+        int i = 0;
+        while (i < word.length()) {
+            int consumed = composedLength(word, i);
+            char symbol = consumed > 1 ? compose(word, i, consumed) : word.charAt(i);
+            i += consumed;
+            if (Character.isLetter(symbol)) {
+                sb.append(Character.toLowerCase(symbol));
+            }
+        }
+        return sb.toString();
+    }
+
+    // i 위치에서 호환용 자모(자음+모음[+받침])를 한 음절로 조합할 수 있으면 그 길이, 아니면 1
+    private static int composedLength(CharSequence text, int i) {
+        if (i + 1 >= text.length() || choseong(text.charAt(i)) < 0 || !isCompatVowel(text.charAt(i + 1))) {
+            return 1;
+        }
+        // 받침 뒤에 모음이 오면 받침이 아니라 다음 음절의 초성
+        if (i + 2 < text.length() && jongseong(text.charAt(i + 2)) > 0
+                && !(i + 3 < text.length() && isCompatVowel(text.charAt(i + 3)))) {
+            return 3;
+        }
+        return 2;
+    }
+
+    private static char compose(CharSequence text, int i, int length) {
+        int cho = choseong(text.charAt(i));
+        int jung = text.charAt(i + 1) - COMPAT_VOWEL_START;
+        int jong = length == 3 ? jongseong(text.charAt(i + 2)) : 0;
+        return (char) (SYLLABLE_BASE + (cho * 21 + jung) * 28 + jong);
+    }
+
+    private static int choseong(char c) {
+        return c >= COMPAT_CONSONANT_START && c <= COMPAT_CONSONANT_END
+                ? CHOSEONG_INDEX[c - COMPAT_CONSONANT_START] : -1;
+    }
+
+    private static int jongseong(char c) {
+        return c >= COMPAT_CONSONANT_START && c <= COMPAT_CONSONANT_END
+                ? JONGSEONG_INDEX[c - COMPAT_CONSONANT_START] : -1;
+    }
+
+    private static boolean isCompatVowel(char c) {
+        return c >= COMPAT_VOWEL_START && c <= COMPAT_VOWEL_END;
+    }
+
+    /**
+     * 실패 링크를 미리 펼친 DFA 형태의 Aho-Corasick 오토마톤 (생성 후 변경 없음)
+     */
+    private static final class Automaton {
+        // 문자 → 알파벳 번호 + 1 (0 이면 사전에 없는 문자)
+        private final char[] alphabet;
+        private final int alphabetSize;
+        // 상태 × 알파벳 전이표
+        private final int[] transitions;
+        private final boolean[] output;
+        private final int stateCount;
+
+        private Automaton(char[] alphabet, int alphabetSize, int[] transitions, boolean[] output, int stateCount) {
+            this.alphabet = alphabet;
+            this.alphabetSize = alphabetSize;
+            this.transitions = transitions;
+            this.output = output;
+            this.stateCount = stateCount;
+        }
+
+        private int next(int state, char c) {
+            int symbol = alphabet[c];
+            // 사전에 없는 문자는 어떤 패턴에도 포함되지 않으므로 루트로 돌아간다
+            return symbol == 0 ? 0 : transitions[state * alphabetSize + symbol - 1];
+        }
+
+        private static Automaton compile(Set<String> patterns) {
+            char[] alphabet = new char[Character.MAX_VALUE + 1];
+            int alphabetSize = 0;
+            int maxStates = 1;
+            for (String pattern : patterns) {
+                maxStates += pattern.length();
+                for (int i = 0; i < pattern.length(); i++) {
+                    char c = pattern.charAt(i);
+                    if (alphabet[c] == 0) {
+                        alphabet[c] = (char) ++alphabetSize;
+                    }
+                }
+            }
+            int width = Math.max(alphabetSize, 1);
+
+            // 1. 트라이 구성
+            int[] transitions = new int[maxStates * width];
+            Arrays.fill(transitions, -1);
+            boolean[] output = new boolean[maxStates];
+            int stateCount = 1;
+            for (String pattern : patterns) {
+                int state = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    int index = state * width + alphabet[pattern.charAt(i)] - 1;
+                    if (transitions[index] == -1) {
+                        transitions[index] = stateCount++;
+                    }
+                    state = transitions[index];
+                }
+                output[state] = true;
+            }
+
+            // 2. 너비 우선으로 실패 링크를 계산하면서 빈 전이를 실패 상태의 전이로 채움
+            int[] failure = new int[maxStates];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int child = transitions[symbol];
+                if (child == -1) {
+                    transitions[symbol] = 0;
+                } else {
+                    failure[child] = 0;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                    int index = state * width + symbol;
+                    int fallback = transitions[failure[state] * width + symbol];
+                    int child = transitions[index];
+                    if (child == -1) {
+                        transitions[index] = fallback;
+                    } else {
+                        failure[child] = fallback;
+                        output[child] |= output[fallback];
+                        queue.add(child);
+                    }
+                }
+            }
+
+            return new Automaton(alphabet, width, Arrays.copyOf(transitions, stateCount * width),
+                    Arrays.copyOf(output, stateCount), stateCount);
+        }
+    }
+}
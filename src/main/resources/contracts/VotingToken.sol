@@ -22,6 +22,20 @@ contract VotingToken is ERC20, Ownable {
         return true;
     }
 
+    // 여러 주소에 초기 토큰 일괄 발급 (이미 받은 주소는 건너뜀)
+    function issueInitialTokensBatch(address[] calldata recipients) external onlyOwner returns (uint256 issued) {
+        for (uint256 i = 0; i < recipients.length; i++) {
+            address recipient = recipients[i];
+            if (hasReceivedInitialTokens[recipient]) {
+                continue;
+            }
+
+            hasReceivedInitialTokens[recipient] = true;
+            _mint(recipient, INITIAL_SUPPLY);
+            issued++;
+        }
+    }
+
     function vote(uint256 candidateId) external returns (bool) {
         require(balanceOf(msg.sender) >= VOTE_COST, "Insufficient token balance");
 
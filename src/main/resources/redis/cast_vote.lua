@@ -0,0 +1,30 @@
+-- 투표 원자 처리: 중복 투표 확인 -> 토큰 차감 -> 후보 득표 증가 -> DB 반영 대기열 적재
+-- KEYS[1] vote:user:{userId}, KEYS[2] vote:count:{sgId}, KEYS[3] vote:ledger:pending
+-- ARGV[1] candidateId, ARGV[2] 차감 토큰 수, ARGV[3] 메타마스크 지갑 투표 여부(1/0), ARGV[4] 대기열 항목
+-- 반환: 남은 토큰 수 | -1 이미 투표 | -2 토큰 부족 | -3 투표자 미적재 | -4 지갑 타입 불일치
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -3
+end
+
+local voter = redis.call('HMGET', KEYS[1], 'voted', 'balance', 'metamask')
+if voter[1] == '1' then
+    return -1
+end
+
+if voter[3] ~= ARGV[3] then
+    return -4
+end
+
+local cost = tonumber(ARGV[2])
+local balance = tonumber(voter[2] or '0')
+if balance < cost then
+    return -2
+end
+
+balance = balance - cost
+redis.call('HSET', KEYS[1], 'voted', '1', 'balance', balance)
+-- 투표한 사용자 상태는 만료되면 DB 반영 전 재적재로 중복 투표가 가능하므로 만료를 해제
+redis.call('PERSIST', KEYS[1])
+redis.call('HINCRBY', KEYS[2], ARGV[1], 1)
+redis.call('RPUSH', KEYS[3], ARGV[4])
+return balance
@@ -0,0 +1,16 @@
+-- DB 반영 대상 항목 선점
+-- 처리 중 목록이 남아 있으면(이전 반영 중단) 그대로 다시 반환하고, 없으면 대기열에서 최대 ARGV[1]건을 옮긴다.
+-- KEYS[1] vote:ledger:pending, KEYS[2] vote:ledger:processing
+local claimed = redis.call('LRANGE', KEYS[2], 0, -1)
+if #claimed > 0 then
+    return claimed
+end
+
+claimed = redis.call('LRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1)
+if #claimed == 0 then
+    return claimed
+end
+
+redis.call('LTRIM', KEYS[1], #claimed, -1)
+redis.call('RPUSH', KEYS[2], unpack(claimed))
+return claimed
@@ -0,0 +1,28 @@
+-- DB 반영 대상 조회수 선점
+-- 반영 잠금을 소유 토큰으로 잡은 인스턴스만 처리 중 해시를 받는다. (동시에 두 인스턴스가 같은 해시를 반영하지 않음)
+-- 처리 중 해시가 남아 있으면(이전 반영 중단) 같은 batch ID 로 다시 반환하고, DB 의 batch 기록으로 중복 반영을 막는다.
+-- KEYS[1] post:views:pending, KEYS[2] post:views:processing, KEYS[3] post:views:lock, KEYS[4] post:views:batch
+-- ARGV[1] 소유 토큰, ARGV[2] 잠금 시간(ms), ARGV[3] 새 batch ID
+-- 반환: {} 다른 인스턴스가 반영 중이거나 반영할 조회수 없음 | {batch ID, 게시글 ID, 증가분, ...}
+if not redis.call('SET', KEYS[3], ARGV[1], 'NX', 'PX', tonumber(ARGV[2])) then
+    return {}
+end
+
+if redis.call('EXISTS', KEYS[2]) == 0 then
+    if redis.call('EXISTS', KEYS[1]) == 0 then
+        redis.call('DEL', KEYS[3])
+        return {}
+    end
+    redis.call('RENAME', KEYS[1], KEYS[2])
+    redis.call('SET', KEYS[4], ARGV[3])
+end
+
+local batchId = redis.call('GET', KEYS[4])
+if not batchId then
+    batchId = ARGV[3]
+    redis.call('SET', KEYS[4], batchId)
+end
+
+local claimed = redis.call('HGETALL', KEYS[2])
+table.insert(claimed, 1, batchId)
+return claimed
@@ -0,0 +1,7 @@
+-- 아직 투표하지 않은 투표자 상태 제거 (다음 투표 시 DB 기준으로 다시 적재)
+-- KEYS[1] vote:user:{userId}
+if redis.call('HGET', KEYS[1], 'voted') == '1' then
+    return 0
+end
+
+return redis.call('DEL', KEYS[1])
@@ -0,0 +1,12 @@
+-- 조회수 반영 종료 (잠금을 소유한 인스턴스일 때만 처리)
+-- KEYS[1] post:views:processing, KEYS[2] post:views:lock, KEYS[3] post:views:batch
+-- ARGV[1] 소유 토큰, ARGV[2] 반영 완료 여부(1: 처리 중 해시 삭제, 0: 잠금만 해제하고 다음 주기에 재시도)
+if redis.call('GET', KEYS[2]) ~= ARGV[1] then
+    return 0
+end
+
+if ARGV[2] == '1' then
+    redis.call('DEL', KEYS[1], KEYS[3])
+end
+redis.call('DEL', KEYS[2])
+return 1
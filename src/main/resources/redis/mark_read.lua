@@ -0,0 +1,21 @@
+-- 채팅방 읽음 커서 갱신 (앞으로만 이동하고 채팅방 최신 순번을 넘지 않음)
+-- KEYS[1] chat:read:{userId}, KEYS[2] chat:seq:{roomId}
+-- ARGV[1] 채팅방 ID, ARGV[2] 마지막으로 읽은 메시지 순번 (음수면 최신 메시지까지 읽음)
+-- 읽음 커서가 없으면(참여하지 않은 채팅방) 빈 목록을 반환하고 커서를 만들지 않음
+local cursor = redis.call('HGET', KEYS[1], ARGV[1])
+if not cursor then
+    return {}
+end
+
+local latest = tonumber(redis.call('GET', KEYS[2]) or '0')
+local seq = tonumber(ARGV[2])
+if seq < 0 or seq > latest then
+    seq = latest
+end
+
+local current = tonumber(cursor)
+if seq > current then
+    redis.call('HSET', KEYS[1], ARGV[1], seq)
+    current = seq
+end
+return {current, latest}
@@ -0,0 +1,11 @@
+-- 게시글 조회 기록 (조회자·게시글별 중복 제외 후 미반영 조회수 증가)
+-- KEYS[1] post:viewed:{viewer}:{postId}, KEYS[2] post:views:pending, KEYS[3] post:views:processing
+-- ARGV[1] 게시글 ID, ARGV[2] 중복 제외 기간(초)
+-- 키를 (조회자, 게시글) 단위로 두어 다른 게시글을 조회해도 이미 본 게시글의 중복 제외 기간이 늘어나지 않는다.
+if redis.call('SET', KEYS[1], '1', 'NX', 'EX', tonumber(ARGV[2])) then
+    redis.call('HINCRBY', KEYS[2], ARGV[1], 1)
+end
+
+-- 아직 DB 에 반영되지 않은 조회수 (반영 중인 값 포함)
+return tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+    + tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '0')
@@ -0,0 +1,10 @@
+-- DB 기준 투표자 상태 적재 (이미 적재된 경우 덮어쓰지 않음)
+-- KEYS[1] vote:user:{userId}
+-- ARGV[1] 투표 여부(1/0), ARGV[2] 토큰 잔액, ARGV[3] 메타마스크 지갑 여부(1/0), ARGV[4] TTL(초)
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], 'voted', ARGV[1], 'balance', ARGV[2], 'metamask', ARGV[3])
+redis.call('EXPIRE', KEYS[1], tonumber(ARGV[4]))
+return 1
@@ -0,0 +1,52 @@
+package com.example.mockvoting;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+/**
+ * src/main/resources/redis/*.lua 스크립트를 실제 Redis 에서 실행하는 테스트 공통 설정
+ * - 테스트마다 빈 Redis 에서 시작한다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class RedisScriptTestSupport {
+
+	@Container
+	static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+			.withExposedPorts(6379);
+
+	private LettuceConnectionFactory connectionFactory;
+	protected StringRedisTemplate redisTemplate;
+
+	@BeforeEach
+	void startRedis() {
+		connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		redisTemplate = new StringRedisTemplate(connectionFactory);
+		redisTemplate.execute((RedisCallback<Object>) connection -> {
+			connection.serverCommands().flushAll();
+			return null;
+		});
+	}
+
+	@AfterEach
+	void stopRedis() {
+		connectionFactory.destroy();
+	}
+
+	protected <T> T runScript(String script, Class<T> resultType, List<String> keys, String... args) {
+		return redisTemplate.execute(RedisScript.of(new ClassPathResource("redis/" + script + ".lua"), resultType),
+				keys, (Object[]) args);
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.mockvoting.config;
+
+import com.example.mockvoting.RedisScriptTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리더 임대 스크립트 (acquire_lease)
+ */
+class InstanceLeaderLeaseScriptTest extends RedisScriptTestSupport {
+
+	@Test
+	void leaseIsHeldByOneInstanceAndRenewedByOwner() {
+		assertThat(acquireLease("instance-a")).isEqualTo(1L);
+		assertThat(acquireLease("instance-b")).isZero();
+		assertThat(acquireLease("instance-a")).isEqualTo(1L);
+		assertThat(redisTemplate.getExpire("instance:leader")).isPositive();
+
+		redisTemplate.delete("instance:leader");
+		assertThat(acquireLease("instance-b")).isEqualTo(1L);
+	}
+
+	private Long acquireLease(String instanceId) {
+		return runScript("acquire_lease", Long.class, List.of("instance:leader"), instanceId, "15000");
+	}
+}
@@ -0,0 +1,152 @@
+package com.example.mockvoting.config;
+
+import com.example.mockvoting.domain.chat.entity.ChatMessage;
+import com.example.mockvoting.domain.chat.service.ChatHistoryBuffer;
+import com.example.mockvoting.domain.chat.service.ChatHistoryRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 같은 Redis 를 쓰는 두 인스턴스 사이의 전파와 리더 선출 검증 (chat.broker.mode=redis)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MultiInstanceRedisTest {
+
+	@Container
+	static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+			.withExposedPorts(6379);
+
+	private LettuceConnectionFactory connectionFactory;
+	private StringRedisTemplate redisTemplate;
+
+	@BeforeEach
+	void setUp() {
+		connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		redisTemplate = new StringRedisTemplate(connectionFactory);
+		redisTemplate.execute((RedisCallback<Object>) connection -> {
+			connection.serverCommands().flushAll();
+			return null;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		connectionFactory.destroy();
+	}
+
+	@Test
+	void topicMessageReachesOtherInstanceOnly() throws Exception {
+		MessageChannel channelA = mock(MessageChannel.class);
+		MessageChannel channelB = mock(MessageChannel.class);
+		RedisBrokerFanout instanceA = new RedisBrokerFanout(redisTemplate, connectionFactory, channelA);
+		RedisBrokerFanout instanceB = new RedisBrokerFanout(redisTemplate, connectionFactory, channelB);
+		instanceA.start();
+		instanceB.start();
+
+		try {
+			byte[] payload = "{\"content\":\"hello\"}".getBytes(StandardCharsets.UTF_8);
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+			accessor.setDestination("/topic/chat/1");
+			instanceA.preSend(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()), channelA);
+
+			verify(channelB, timeout(5000)).send(argThat((Message<?> message) ->
+					Arrays.equals(payload, (byte[]) message.getPayload())
+							&& "/topic/chat/1".equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))));
+			verify(channelA, after(500).never()).send(any());
+		} finally {
+			instanceA.stop();
+			instanceB.stop();
+		}
+	}
+
+	@Test
+	void savedMessageAndRedactionReachOtherInstanceBuffer() throws Exception {
+		ChatHistoryBuffer bufferA = mock(ChatHistoryBuffer.class);
+		ChatHistoryBuffer bufferB = mock(ChatHistoryBuffer.class);
+		ChatHistoryRelay instanceA = new ChatHistoryRelay(redisTemplate, connectionFactory, bufferA);
+		ChatHistoryRelay instanceB = new ChatHistoryRelay(redisTemplate, connectionFactory, bufferB);
+		instanceA.start();
+		instanceB.start();
+
+		try {
+			ChatMessage message = ChatMessage.builder()
+					.id("665f1c2e9b1d4a3f8c7e6d5b")
+					.chatroomId(1)
+					.userId("user1")
+					.content("hello")
+					.sentAt(new Date())
+					.seq(7)
+					.build();
+			instanceA.publishAppend(message);
+			instanceA.publishUpdate(message, "[filtered]");
+
+			verify(bufferB, timeout(5000)).append(argThat(relayed ->
+					message.getId().equals(relayed.getId()) && relayed.getSeq() == 7));
+			verify(bufferB, timeout(5000)).updateContent(1, message.getId(), "[filtered]");
+			verify(bufferA, after(500).never()).append(any());
+			verify(bufferA, never()).updateContent(anyInt(), anyString(), anyString());
+		} finally {
+			instanceA.stop();
+			instanceB.stop();
+		}
+	}
+
+	@Test
+	void onlyOneInstanceLeadsAndLeadershipMovesWhenLeaseExpires() {
+		InstanceLeaderLease instanceA = new InstanceLeaderLease(redisTemplate, "redis", 15000);
+		InstanceLeaderLease instanceB = new InstanceLeaderLease(redisTemplate, "redis", 15000);
+
+		instanceA.renew();
+		instanceB.renew();
+		assertThat(instanceA.isLeader()).isTrue();
+		assertThat(instanceB.isLeader()).isFalse();
+
+		// 리더 인스턴스가 멈춰 임대가 만료된 상황
+		redisTemplate.delete("instance:leader");
+		instanceB.renew();
+		instanceA.renew();
+		assertThat(instanceB.isLeader()).isTrue();
+		assertThat(instanceA.isLeader()).isFalse();
+	}
+
+	@Test
+	void singleInstanceModeIsAlwaysLeader() {
+		InstanceLeaderLease lease = new InstanceLeaderLease(redisTemplate, "simple", 15000);
+
+		assertThat(lease.isLeader()).isTrue();
+		try (RedisConnection connection = connectionFactory.getConnection()) {
+			assertThat(connection.keyCommands().exists("instance:leader".getBytes(StandardCharsets.UTF_8))).isFalse();
+		}
+	}
+}
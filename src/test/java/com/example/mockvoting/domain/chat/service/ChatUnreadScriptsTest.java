@@ -0,0 +1,38 @@
+package com.example.mockvoting.domain.chat.service;
+
+import com.example.mockvoting.RedisScriptTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 읽음 커서 스크립트 (mark_read)
+ */
+class ChatUnreadScriptsTest extends RedisScriptTestSupport {
+
+	@Test
+	void markReadRejectsRoomWithoutCursor() {
+		redisTemplate.opsForValue().set("chat:seq:1", "5");
+
+		assertThat(markRead("3")).isEmpty();
+		assertThat(redisTemplate.opsForHash().hasKey("chat:read:u1", "1")).isFalse();
+	}
+
+	@Test
+	void markReadMovesForwardOnlyAndClampsToLatest() {
+		redisTemplate.opsForValue().set("chat:seq:1", "5");
+		redisTemplate.opsForHash().put("chat:read:u1", "1", "2");
+
+		assertThat(markRead("4")).containsExactly(4L, 5L);
+		assertThat(markRead("3")).containsExactly(4L, 5L);
+		assertThat(markRead("99")).containsExactly(5L, 5L);
+		assertThat(markRead("-1")).containsExactly(5L, 5L);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Long> markRead(String seq) {
+		return runScript("mark_read", List.class, List.of("chat:read:u1", "chat:seq:1"), "1", seq);
+	}
+}
@@ -0,0 +1,113 @@
+package com.example.mockvoting.domain.community.service;
+
+import com.example.mockvoting.domain.community.dto.PostCommentCreateRequestDTO;
+import com.example.mockvoting.domain.community.entity.PostComment;
+import com.example.mockvoting.domain.community.mapper.CategoryMapper;
+import com.example.mockvoting.domain.community.mapper.CommunityVoteMapper;
+import com.example.mockvoting.domain.community.mapper.PostCommentMapper;
+import com.example.mockvoting.domain.community.mapper.PostMapper;
+import com.example.mockvoting.domain.community.mapper.converter.PostCommentDtoMapper;
+import com.example.mockvoting.domain.community.repository.PostCommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 게시글 댓글 수(post.comment_count) 증감과 보정
+ */
+class PostCommentCountTest {
+
+	private static final Long POST_ID = 10L;
+	private static final Long COMMENT_ID = 100L;
+
+	private final PostCommentMapper postCommentMapper = mock(PostCommentMapper.class);
+	private final PostMapper postMapper = mock(PostMapper.class);
+	private final PostCommentRepository postCommentRepository = mock(PostCommentRepository.class);
+	private final PostCommentDtoMapper postCommentDtoMapper = mock(PostCommentDtoMapper.class);
+
+	private PostCommentService postCommentService;
+	private CommentCountReconciler reconciler;
+
+	@BeforeEach
+	void setUp() {
+		postCommentService = new PostCommentService(postCommentMapper, postMapper, mock(CategoryMapper.class),
+				mock(CommunityVoteMapper.class), postCommentRepository, postCommentDtoMapper);
+		reconciler = new CommentCountReconciler(postMapper);
+		ReflectionTestUtils.setField(reconciler, "batchSize", 100);
+
+		when(postCommentRepository.findById(COMMENT_ID)).thenReturn(Optional.of(PostComment.builder()
+				.id(COMMENT_ID).postId(POST_ID).authorId("u1").content("댓글").build()));
+	}
+
+	@Test
+	void saveIncrementsCommentCount() {
+		when(postCommentDtoMapper.toEntity(any())).thenReturn(PostComment.builder().postId(POST_ID).build());
+		when(postCommentRepository.save(any())).thenReturn(PostComment.builder().id(COMMENT_ID).build());
+
+		postCommentService.save(POST_ID, PostCommentCreateRequestDTO.builder().content("댓글").build(), "u1");
+
+		verify(postMapper).updateCommentCountById(POST_ID, 1);
+	}
+
+	@Test
+	void deleteDecrementsWhenThisRequestDeletedTheComment() {
+		when(postCommentMapper.softDeleteById(COMMENT_ID)).thenReturn(1);
+
+		postCommentService.delete(COMMENT_ID, "u1");
+
+		verify(postMapper).updateCommentCountById(POST_ID, -1);
+	}
+
+	@Test
+	void deleteDoesNotDecrementWhenAlreadyDeleted() {
+		// 동시 요청이 먼저 삭제했거나 이미 삭제된 댓글
+		when(postCommentMapper.softDeleteById(COMMENT_ID)).thenReturn(0);
+
+		postCommentService.delete(COMMENT_ID, "u1");
+
+		verify(postMapper, never()).updateCommentCountById(anyLong(), anyInt());
+	}
+
+	@Test
+	void deleteByOtherUserIsRejectedWithoutTouchingCount() {
+		assertThatThrownBy(() -> postCommentService.delete(COMMENT_ID, "u2")).isInstanceOf(SecurityException.class);
+
+		verify(postCommentMapper, never()).softDeleteById(any());
+		verify(postMapper, never()).updateCommentCountById(anyLong(), anyInt());
+	}
+
+	@Test
+	void reconcilerRecountsOnlyMismatchedPostsPerRange() {
+		when(postMapper.selectMaxId()).thenReturn(250L);
+		when(postMapper.selectCommentCountMismatchIds(0, 100)).thenReturn(List.of(3L, 42L));
+		when(postMapper.selectCommentCountMismatchIds(100, 200)).thenReturn(List.of());
+		when(postMapper.selectCommentCountMismatchIds(200, 250)).thenReturn(List.of(201L));
+
+		reconciler.reconcile();
+
+		verify(postMapper).recountCommentCountById(3L);
+		verify(postMapper).recountCommentCountById(42L);
+		verify(postMapper).recountCommentCountById(201L);
+	}
+
+	@Test
+	void reconcilerSkipsEmptyTable() {
+		when(postMapper.selectMaxId()).thenReturn(null);
+
+		reconciler.reconcile();
+
+		verify(postMapper, never()).selectCommentCountMismatchIds(anyLong(), anyLong());
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.mockvoting.domain.community.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostCursorTest {
+
+	@Test
+	void roundTripsCreatedAtAndId() {
+		PostCursor cursor = new PostCursor(LocalDateTime.of(2025, 6, 3, 9, 30, 15, 123_000_000), 42L);
+
+		assertThat(PostCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void roundTripsTimestampWithoutSeconds() {
+		// LocalDateTime.toString 은 초가 0 이면 생략함 ("2025-06-03T09:30")
+		PostCursor cursor = new PostCursor(LocalDateTime.of(2025, 6, 3, 9, 30), 7L);
+
+		assertThat(PostCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodesUrlSafeWithoutPadding() {
+		String encoded = new PostCursor(LocalDateTime.of(2025, 6, 3, 9, 30, 15), 1234567L).encode();
+
+		assertThat(encoded).doesNotContain("+", "/", "=");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"not-base64!", "bm90LWEtY3Vyc29y", "MjAyNS0wNi0wM1QwOTozMA"})
+	void rejectsMalformedCursor(String cursor) {
+		assertThatThrownBy(() -> PostCursor.decode(cursor))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("잘못된 커서입니다.");
+	}
+
+	@Test
+	void rejectsNonNumericId() {
+		String cursor = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("2025-06-03T09:30|abc".getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> PostCursor.decode(cursor)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
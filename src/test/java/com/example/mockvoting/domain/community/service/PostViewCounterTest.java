@@ -0,0 +1,101 @@
+package com.example.mockvoting.domain.community.service;
+
+import com.example.mockvoting.domain.community.mapper.PostMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostViewCounterTest {
+
+	private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+	private final PostMapper postMapper = mock(PostMapper.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+	private PostViewCounter postViewCounter;
+
+	// 선점 스크립트가 돌려줄 값, 종료 스크립트에 전달된 반영 완료 여부
+	private List<String> claimed;
+	private final List<String> finished = new ArrayList<>();
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		postViewCounter = new PostViewCounter(redisTemplate, postMapper, transactionTemplate);
+		ReflectionTestUtils.setField(postViewCounter, "flushBatchSize", 2);
+		ReflectionTestUtils.setField(postViewCounter, "flushLockMs", 60000L);
+
+		doAnswer(invocation -> {
+			List<String> keys = invocation.getArgument(1);
+			if ("post:views:pending".equals(keys.get(0))) {
+				return claimed;
+			}
+			finished.add((String) invocation.getArgument(3));
+			return 1L;
+		}).when(redisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+	}
+
+	@Test
+	void appliesClaimedBatchOnceAndClearsProcessingHash() {
+		claimed = List.of("batch-1", "1", "3", "2", "1", "3", "5");
+		when(postMapper.insertViewBatch("batch-1")).thenReturn(1);
+
+		postViewCounter.flush();
+
+		verify(postMapper).addViewCounts(Map.of(1L, 3L, 2L, 1L));
+		verify(postMapper).addViewCounts(Map.of(3L, 5L));
+		assertThat(finished).containsExactly("1");
+	}
+
+	@Test
+	void skipsBatchAlreadyRecordedInDatabase() {
+		claimed = List.of("batch-1", "1", "3");
+		when(postMapper.insertViewBatch("batch-1")).thenReturn(0);
+
+		postViewCounter.flush();
+
+		verify(postMapper, never()).addViewCounts(anyMap());
+		assertThat(finished).containsExactly("1");
+	}
+
+	@Test
+	void keepsProcessingHashWhenDatabaseFails() {
+		claimed = List.of("batch-1", "1", "3");
+		when(postMapper.insertViewBatch(anyString())).thenThrow(new IllegalStateException("db down"));
+
+		postViewCounter.flush();
+
+		assertThat(finished).containsExactly("0");
+	}
+
+	@Test
+	void doesNothingWhenAnotherInstanceHoldsTheLock() {
+		claimed = List.of();
+
+		postViewCounter.flush();
+
+		verify(postMapper, never()).insertViewBatch(anyString());
+		assertThat(finished).isEmpty();
+	}
+}
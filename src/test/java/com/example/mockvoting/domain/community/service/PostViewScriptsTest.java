@@ -0,0 +1,79 @@
+package com.example.mockvoting.domain.community.service;
+
+import com.example.mockvoting.RedisScriptTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시글 조회수 스크립트 (record_view, claim_views, finish_views)
+ */
+class PostViewScriptsTest extends RedisScriptTestSupport {
+
+	private static final String PENDING = "post:views:pending";
+	private static final String PROCESSING = "post:views:processing";
+	private static final String LOCK = "post:views:lock";
+	private static final String BATCH = "post:views:batch";
+
+	@Test
+	void recordViewCountsEachViewerOncePerPost() {
+		assertThat(recordView("viewer1", "10")).isEqualTo(1L);
+		assertThat(recordView("viewer1", "10")).isEqualTo(1L);
+		assertThat(recordView("viewer2", "10")).isEqualTo(2L);
+		// 다른 게시글 조회는 별도로 집계
+		assertThat(recordView("viewer1", "11")).isEqualTo(1L);
+
+		assertThat(redisTemplate.getExpire("post:viewed:viewer1:10")).isPositive();
+	}
+
+	@Test
+	void recordViewIncludesViewsBeingFlushed() {
+		redisTemplate.opsForHash().put(PROCESSING, "10", "5");
+
+		assertThat(recordView("viewer1", "10")).isEqualTo(6L);
+	}
+
+	@Test
+	void claimViewsIsExclusiveAndKeepsBatchIdUntilFinished() {
+		redisTemplate.opsForHash().put(PENDING, "10", "3");
+
+		assertThat(claimViews("owner-a", "batch-1")).containsExactly("batch-1", "10", "3");
+		// 잠금을 가진 인스턴스가 있으면 다른 인스턴스는 받지 못함
+		assertThat(claimViews("owner-b", "batch-2")).isEmpty();
+
+		// 다른 소유자의 종료 요청은 무시
+		assertThat(finishViews("owner-b", "1")).isZero();
+		// 반영 실패: 잠금만 해제하고 같은 batch 를 다시 받음
+		assertThat(finishViews("owner-a", "0")).isEqualTo(1L);
+		redisTemplate.opsForHash().put(PENDING, "11", "1");
+		assertThat(claimViews("owner-b", "batch-2")).containsExactly("batch-1", "10", "3");
+
+		// 반영 완료: 처리 중 해시와 batch ID 삭제, 다음 선점은 새 batch
+		assertThat(finishViews("owner-b", "1")).isEqualTo(1L);
+		assertThat(redisTemplate.hasKey(PROCESSING)).isFalse();
+		assertThat(claimViews("owner-a", "batch-3")).containsExactly("batch-3", "11", "1");
+	}
+
+	@Test
+	void claimViewsReleasesLockWhenNothingToFlush() {
+		assertThat(claimViews("owner-a", "batch-1")).isEmpty();
+		assertThat(redisTemplate.hasKey(LOCK)).isFalse();
+	}
+
+	private Long recordView(String viewer, String postId) {
+		return runScript("record_view", Long.class,
+				List.of("post:viewed:" + viewer + ":" + postId, PENDING, PROCESSING), postId, "600");
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> claimViews(String token, String batchId) {
+		return runScript("claim_views", List.class, List.of(PENDING, PROCESSING, LOCK, BATCH),
+				token, "60000", batchId);
+	}
+
+	private Long finishViews(String token, String done) {
+		return runScript("finish_views", Long.class, List.of(PROCESSING, LOCK, BATCH), token, done);
+	}
+}
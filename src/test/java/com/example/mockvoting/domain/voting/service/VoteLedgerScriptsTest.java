@@ -0,0 +1,109 @@
+package com.example.mockvoting.domain.voting.service;
+
+import com.example.mockvoting.RedisScriptTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 투표 원장 스크립트 (cast_vote, seed_voter, evict_voter, claim_ledger)
+ */
+class VoteLedgerScriptsTest extends RedisScriptTestSupport {
+
+	private static final String VOTER = "vote:user:u1";
+	private static final String COUNTS = "vote:count:20250603";
+	private static final String LEDGER_PENDING = "vote:ledger:pending";
+	private static final String LEDGER_PROCESSING = "vote:ledger:processing";
+
+	@Test
+	void castVoteRejectsVoterThatWasNotSeeded() {
+		assertThat(castVote("0", 1)).isEqualTo(-3L);
+		assertThat(redisTemplate.opsForList().size(LEDGER_PENDING)).isZero();
+	}
+
+	@Test
+	void castVoteDeductsCountsQueuesAndPersistsVoter() {
+		assertThat(seedVoter("0", "3", "0", 600)).isEqualTo(1L);
+
+		assertThat(castVote("0", 1)).isEqualTo(2L);
+
+		assertThat(redisTemplate.opsForHash().entries(VOTER))
+				.containsEntry("voted", "1")
+				.containsEntry("balance", "2");
+		assertThat(redisTemplate.opsForHash().get(COUNTS, "7")).isEqualTo("1");
+		assertThat(redisTemplate.opsForList().range(LEDGER_PENDING, 0, -1)).containsExactly("u1|20250603|7|1");
+		// 투표한 사용자 상태는 만료되지 않아야 재적재로 다시 투표할 수 없음
+		assertThat(redisTemplate.getExpire(VOTER)).isEqualTo(-1L);
+	}
+
+	@Test
+	void castVoteRejectsSecondVote() {
+		seedVoter("0", "3", "0", 600);
+		castVote("0", 1);
+
+		assertThat(castVote("0", 1)).isEqualTo(-1L);
+		assertThat(redisTemplate.opsForHash().get(COUNTS, "7")).isEqualTo("1");
+		assertThat(redisTemplate.opsForList().size(LEDGER_PENDING)).isEqualTo(1L);
+	}
+
+	@Test
+	void castVoteRejectsInsufficientBalanceAndWalletMismatch() {
+		seedVoter("0", "0", "0", 600);
+
+		assertThat(castVote("0", 1)).isEqualTo(-2L);
+		assertThat(castVote("1", 0)).isEqualTo(-4L);
+		assertThat(redisTemplate.opsForHash().get(VOTER, "voted")).isEqualTo("0");
+	}
+
+	@Test
+	void seedVoterDoesNotOverwriteLoadedVoter() {
+		assertThat(seedVoter("0", "3", "0", 600)).isEqualTo(1L);
+		assertThat(seedVoter("1", "0", "1", 600)).isZero();
+
+		assertThat(redisTemplate.opsForHash().get(VOTER, "balance")).isEqualTo("3");
+		assertThat(redisTemplate.getExpire(VOTER)).isPositive();
+	}
+
+	@Test
+	void evictVoterKeepsVotersThatAlreadyVoted() {
+		seedVoter("0", "3", "0", 600);
+		assertThat(runScript("evict_voter", Long.class, List.of(VOTER))).isEqualTo(1L);
+
+		seedVoter("0", "3", "0", 600);
+		castVote("0", 1);
+		assertThat(runScript("evict_voter", Long.class, List.of(VOTER))).isZero();
+		assertThat(redisTemplate.hasKey(VOTER)).isTrue();
+	}
+
+	@Test
+	void claimLedgerMovesBatchAndReturnsUnfinishedBatchAgain() {
+		redisTemplate.opsForList().rightPushAll(LEDGER_PENDING, "a", "b", "c");
+
+		assertThat(claimLedger(2)).containsExactly("a", "b");
+		assertThat(redisTemplate.opsForList().range(LEDGER_PENDING, 0, -1)).containsExactly("c");
+
+		// 처리 중 목록을 비우지 않았으면 같은 항목을 다시 받음
+		assertThat(claimLedger(2)).containsExactly("a", "b");
+
+		redisTemplate.delete(LEDGER_PROCESSING);
+		assertThat(claimLedger(2)).containsExactly("c");
+		assertThat(redisTemplate.opsForList().size(LEDGER_PENDING)).isZero();
+	}
+
+	private Long seedVoter(String voted, String balance, String metamask, long ttlSeconds) {
+		return runScript("seed_voter", Long.class, List.of(VOTER), voted, balance, metamask, String.valueOf(ttlSeconds));
+	}
+
+	private Long castVote(String metamask, int cost) {
+		return runScript("cast_vote", Long.class, List.of(VOTER, COUNTS, LEDGER_PENDING),
+				"7", String.valueOf(cost), metamask, "u1|20250603|7|" + cost);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> claimLedger(int batchSize) {
+		return runScript("claim_ledger", List.class, List.of(LEDGER_PENDING, LEDGER_PROCESSING),
+				String.valueOf(batchSize));
+	}
+}
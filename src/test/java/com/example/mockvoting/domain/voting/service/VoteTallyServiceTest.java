@@ -0,0 +1,139 @@
+package com.example.mockvoting.domain.voting.service;
+
+import com.example.mockvoting.config.InstanceLeaderLease;
+import com.example.mockvoting.domain.voting.entity.VotingStats;
+import com.example.mockvoting.domain.voting.mapper.VotingMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VoteTallyServiceTest {
+
+	private static final String SG_ID = "20250603";
+
+	private VotingMapper votingMapper;
+	private InstanceLeaderLease instanceLeaderLease;
+	private VoteTallyService voteTallyService;
+
+	@BeforeEach
+	void setUp() {
+		votingMapper = mock(VotingMapper.class);
+		stubPersistedCount(10);
+		instanceLeaderLease = mock(InstanceLeaderLease.class);
+		when(instanceLeaderLease.isLeader()).thenReturn(true);
+		voteTallyService = new VoteTallyService(votingMapper, mock(TransactionTemplate.class), instanceLeaderLease);
+		ReflectionTestUtils.setField(voteTallyService, "ledgerMarkerTtlMs", 60_000L);
+	}
+
+	private void stubPersistedCount(int voteCount) {
+		when(votingMapper.getVotingStatsBySgId(SG_ID)).thenReturn(List.of(
+				VotingStats.builder().sgId(SG_ID).candidateId(1).voteCount(voteCount).build()));
+	}
+
+	@Test
+	void reconciledEntryMissedBeforeLoadIsAdded() {
+		voteTallyService.getVoteCounts(SG_ID);
+
+		voteTallyService.applyReconciled(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 11L);
+	}
+
+	@Test
+	void observedEntryIsNotCountedAgainOnReconcile() {
+		voteTallyService.observeVote(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+		voteTallyService.applyReconciled(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 11L);
+	}
+
+	@Test
+	void reconcileBeforeObserveIsCountedOnce() {
+		voteTallyService.getVoteCounts(SG_ID);
+
+		voteTallyService.applyReconciled(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+		voteTallyService.observeVote(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 11L);
+	}
+
+	@Test
+	void reconcileBeforeLoadIsLeftToTheDatabase() {
+		voteTallyService.applyReconciled(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 10L);
+	}
+
+	@Test
+	void followerPicksUpVotesFromOtherInstancesOnResync() {
+		when(instanceLeaderLease.isLeader()).thenReturn(false);
+		voteTallyService.observeVote(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 11L);
+
+		// 리더가 u1 과 다른 인스턴스의 두 표를 반영
+		stubPersistedCount(13);
+		voteTallyService.resync();
+
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 13L);
+		assertThat(ledgerEntries()).isEmpty();
+	}
+
+	@Test
+	void newLeaderCountsEntriesReconciledAfterResyncOnce() {
+		when(instanceLeaderLease.isLeader()).thenReturn(false);
+		voteTallyService.observeVote(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+
+		// 이전 리더가 다른 인스턴스의 한 표를 반영한 뒤 리더 전환
+		stubPersistedCount(11);
+		when(instanceLeaderLease.isLeader()).thenReturn(true);
+		voteTallyService.resync();
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 11L);
+
+		// 아직 반영되지 않았던 u1 은 새 리더가 반영할 때 한 번만 더해짐
+		voteTallyService.applyReconciled(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+		stubPersistedCount(12);
+		voteTallyService.resync();
+
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 12L);
+	}
+
+	@Test
+	void leaderResyncKeepsObservedEntriesNotYetReconciled() {
+		voteTallyService.resync();
+		voteTallyService.observeVote(SG_ID, 1, "u1|" + SG_ID + "|1|0");
+
+		voteTallyService.resync();
+
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 11L);
+		assertThat(ledgerEntries()).containsKey("u1|" + SG_ID + "|1|0");
+	}
+
+	@Test
+	void expiredMarkersAreDroppedOnResync() {
+		voteTallyService.resync();
+		voteTallyService.getVoteCounts(SG_ID);
+		// 다른 인스턴스에서 관찰된 항목은 반영 표시만 남음
+		voteTallyService.applyReconciled(SG_ID, 1, "u2|" + SG_ID + "|1|0");
+		assertThat(ledgerEntries()).hasSize(1);
+
+		ReflectionTestUtils.setField(voteTallyService, "ledgerMarkerTtlMs", -1L);
+		stubPersistedCount(11);
+		voteTallyService.resync();
+
+		assertThat(ledgerEntries()).isEmpty();
+		assertThat(voteTallyService.getVoteCounts(SG_ID)).containsEntry(1, 11L);
+	}
+
+	private Map<?, ?> ledgerEntries() {
+		Map<?, ?> tallies = (Map<?, ?>) ReflectionTestUtils.getField(voteTallyService, "tallies");
+		return (Map<?, ?>) ReflectionTestUtils.getField(tallies.get(SG_ID), "ledgerEntries");
+	}
+}
@@ -0,0 +1,252 @@
+package com.example.mockvoting.domain.wallet.service;
+
+import com.example.mockvoting.config.InstanceLeaderLease;
+import com.example.mockvoting.domain.wallet.contract.VotingToken;
+import com.example.mockvoting.domain.wallet.entity.TokenEvent;
+import com.example.mockvoting.domain.wallet.event.TokenEventsIndexedEvent;
+import com.example.mockvoting.domain.wallet.mapper.TokenEventMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthLog;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * VotingTokenIndexer 인덱싱, 체크포인트, 로컬 조회
+ * - Web3j 는 응답만 흉내 내고, 로그 조회와 이벤트 해석은 실제 BlockchainService 와 VotingToken 이벤트 정의를 사용한다.
+ */
+class VotingTokenIndexerTest {
+
+	private static final String CONTRACT = "0x00000000000000000000000000000000000000aa";
+	private static final String VOTER = "0x00000000000000000000000000000000000000b1";
+	private static final String RECIPIENT = "0x00000000000000000000000000000000000000c2";
+	private static final String VOTE_TX = "0x" + "ab".repeat(32);
+	private static final String TRANSFER_TX = "0x" + "cd".repeat(32);
+
+	private final Web3j web3j = mock(Web3j.class);
+	private final TokenEventMapper tokenEventMapper = mock(TokenEventMapper.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final InstanceLeaderLease instanceLeaderLease = mock(InstanceLeaderLease.class);
+
+	private BlockchainService blockchainService;
+	private VotingTokenIndexer indexer;
+
+	// eth_blockNumber / eth_getLogs 응답
+	private long head;
+	private List<EthLog.LogResult> logs = List.of();
+	private final List<EthFilter> filters = new ArrayList<>();
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		blockchainService = new BlockchainService(web3j);
+		ReflectionTestUtils.setField(blockchainService, "tokenContractAddress", CONTRACT);
+		ReflectionTestUtils.setField(blockchainService, "adminPrivateKey", "0x" + "11".repeat(32));
+		ReflectionTestUtils.setField(blockchainService, "maxConcurrentCalls", 2);
+		ReflectionTestUtils.setField(blockchainService, "maxQueuedCalls", 10);
+		ReflectionTestUtils.setField(blockchainService, "callTimeoutMs", 5000L);
+		ReflectionTestUtils.setField(blockchainService, "transactionTimeoutMs", 5000L);
+		ReflectionTestUtils.setField(blockchainService, "receiptPollIntervalMs", 1000L);
+		blockchainService.init();
+
+		indexer = new VotingTokenIndexer(blockchainService, tokenEventMapper, transactionTemplate, eventPublisher,
+				instanceLeaderLease);
+		ReflectionTestUtils.setField(indexer, "enabled", true);
+		ReflectionTestUtils.setField(indexer, "startBlock", 90L);
+		ReflectionTestUtils.setField(indexer, "confirmations", 0L);
+		ReflectionTestUtils.setField(indexer, "maxBlockRange", 1000L);
+		when(instanceLeaderLease.isLeader()).thenReturn(true);
+
+		doAnswer(invocation -> {
+			EthBlockNumber response = new EthBlockNumber();
+			response.setResult("0x" + Long.toHexString(head));
+			return request(response);
+		}).when(web3j).ethBlockNumber();
+		doAnswer(invocation -> {
+			filters.add(invocation.getArgument(0));
+			EthLog response = new EthLog();
+			response.setResult(logs);
+			return request(response);
+		}).when(web3j).ethGetLogs(any(EthFilter.class));
+
+		doAnswer(invocation -> {
+			((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+	}
+
+	@AfterEach
+	void tearDown() {
+		blockchainService.shutdown();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void storesDecodedEventsAndAdvancesCheckpoint() throws Exception {
+		head = 100;
+		logs = List.of(voteCastLog(95, VOTE_TX, VOTER, 3), transferLog(96, TRANSFER_TX, VOTER, RECIPIENT, 10));
+
+		pollAndWait();
+
+		ArgumentCaptor<List<TokenEvent>> stored = ArgumentCaptor.forClass(List.class);
+		verify(tokenEventMapper).insertEvents(stored.capture());
+		assertThat(stored.getValue()).satisfiesExactly(
+				vote -> {
+					assertThat(vote.getEventType()).isEqualTo(TokenEvent.VOTE_CAST);
+					assertThat(vote.getTxHash()).isEqualTo(VOTE_TX);
+					assertThat(vote.getFromAddress()).isEqualTo(VOTER);
+					assertThat(vote.getCandidateId()).isEqualTo(3L);
+					assertThat(vote.getBlockNumber()).isEqualTo(95L);
+				},
+				transfer -> {
+					assertThat(transfer.getEventType()).isEqualTo(TokenEvent.TRANSFER);
+					assertThat(transfer.getFromAddress()).isEqualTo(VOTER);
+					assertThat(transfer.getToAddress()).isEqualTo(RECIPIENT);
+					assertThat(transfer.getAmount()).isEqualTo(BigInteger.TEN);
+				});
+		verify(tokenEventMapper).saveCheckpoint("voting-token", 100L);
+		verify(eventPublisher).publishEvent(any(TokenEventsIndexedEvent.class));
+		assertThat(filters.get(0).getFromBlock().getValue()).isEqualTo("0x5a");
+		assertThat(filters.get(0).getToBlock().getValue()).isEqualTo("0x64");
+
+		// 다음 주기는 체크포인트 다음 블록부터, 새 이벤트가 없어도 체크포인트는 전진
+		head = 120;
+		logs = List.of();
+		pollAndWait();
+
+		verify(tokenEventMapper).saveCheckpoint("voting-token", 120L);
+		assertThat(filters.get(1).getFromBlock().getValue()).isEqualTo("0x65");
+		verify(tokenEventMapper).insertEvents(anyList());
+	}
+
+	@Test
+	void resumesFromSavedCheckpoint() throws Exception {
+		when(tokenEventMapper.findCheckpoint("voting-token")).thenReturn(110L);
+		head = 120;
+
+		pollAndWait();
+
+		assertThat(filters.get(0).getFromBlock().getValue()).isEqualTo("0x6f");
+		verify(tokenEventMapper).saveCheckpoint("voting-token", 120L);
+	}
+
+	@Test
+	void verifiesVoteCastFromIndexedEvents() {
+		when(tokenEventMapper.findVoteCastsByTxHash(VOTE_TX)).thenReturn(List.of(TokenEvent.builder()
+				.eventType(TokenEvent.VOTE_CAST).txHash(VOTE_TX).fromAddress(VOTER).candidateId(3L).build()));
+
+		assertThat(indexer.verifyVoteCast(VOTE_TX.toUpperCase().replace("0X", "0x"), VOTER.toUpperCase(), 3))
+				.contains(true);
+		assertThat(indexer.verifyVoteCast(VOTE_TX, VOTER, 4)).contains(false);
+		assertThat(indexer.verifyVoteCast(VOTE_TX, RECIPIENT, 3)).contains(false);
+		assertThat(indexer.verifyVoteCast(TRANSFER_TX, VOTER, 3)).isEmpty();
+	}
+
+	@Test
+	void indexedBalanceOnlyAfterCatchingUp() throws Exception {
+		when(tokenEventMapper.getTransferBalance(VOTER)).thenReturn(BigInteger.TWO);
+		assertThat(indexer.getIndexedBalance(VOTER)).isEmpty();
+
+		head = 100;
+		pollAndWait();
+		assertThat(indexer.getIndexedBalance(VOTER.toUpperCase().replace("0X", "0x"))).contains(BigInteger.TWO);
+
+		// 전체 이력을 인덱싱하지 않는 설정이면 제공하지 않음
+		ReflectionTestUtils.setField(indexer, "startBlock", -1L);
+		assertThat(indexer.getIndexedBalance(VOTER)).isEmpty();
+	}
+
+	@Test
+	void followerReadsEventsStoredByLeader() throws Exception {
+		when(instanceLeaderLease.isLeader()).thenReturn(false);
+		when(tokenEventMapper.findCheckpoint("voting-token")).thenReturn(100L, 120L);
+		List<TokenEvent> stored = List.of(TokenEvent.builder()
+				.eventType(TokenEvent.TRANSFER).fromAddress(VOTER).toAddress(RECIPIENT).amount(BigInteger.ONE).build());
+		when(tokenEventMapper.findEventsByBlockRange(101L, 120L)).thenReturn(stored);
+		head = 120;
+
+		pollAndWait();
+		pollAndWait();
+
+		ArgumentCaptor<TokenEventsIndexedEvent> published = ArgumentCaptor.forClass(TokenEventsIndexedEvent.class);
+		verify(eventPublisher).publishEvent(published.capture());
+		assertThat(published.getValue().getEvents()).isEqualTo(stored);
+		verify(web3j, never()).ethGetLogs(any());
+		verify(tokenEventMapper, never()).saveCheckpoint(anyString(), anyLong());
+		verify(tokenEventMapper, never()).insertEvents(anyList());
+
+		// 리더가 저장한 체크포인트까지 따라왔으므로 잔액은 로컬 인덱스로 제공
+		when(tokenEventMapper.getTransferBalance(eq(VOTER))).thenReturn(BigInteger.ONE);
+		assertThat(indexer.getIndexedBalance(VOTER)).isEqualTo(Optional.of(BigInteger.ONE));
+	}
+
+	// 비동기 poll() 이 끝날 때까지 대기
+	private void pollAndWait() throws InterruptedException {
+		indexer.poll();
+		AtomicBoolean indexing = (AtomicBoolean) ReflectionTestUtils.getField(indexer, "indexing");
+		long deadline = System.currentTimeMillis() + 5000;
+		while (indexing.get()) {
+			assertThat(System.currentTimeMillis()).isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Response<?>> Request<?, T> request(T response) throws Exception {
+		Request<?, T> request = mock(Request.class);
+		when(request.send()).thenReturn(response);
+		return request;
+	}
+
+	private static EthLog.LogObject voteCastLog(long block, String txHash, String voter, long candidateId) {
+		return log(block, txHash, List.of(EventEncoder.encode(VotingToken.VOTECAST_EVENT), topic(voter)),
+				TypeEncoder.encode(new Uint256(candidateId)));
+	}
+
+	private static EthLog.LogObject transferLog(long block, String txHash, String from, String to, long amount) {
+		return log(block, txHash, List.of(EventEncoder.encode(VotingToken.TRANSFER_EVENT), topic(from), topic(to)),
+				TypeEncoder.encode(new Uint256(amount)));
+	}
+
+	private static EthLog.LogObject log(long block, String txHash, List<String> topics, String data) {
+		return new EthLog.LogObject(false, "0x0", "0x0", txHash, "0x" + "00".repeat(32),
+				"0x" + Long.toHexString(block), CONTRACT, "0x" + data, "mined", topics);
+	}
+
+	private static String topic(String address) {
+		return "0x" + TypeEncoder.encode(new Address(address));
+	}
+}
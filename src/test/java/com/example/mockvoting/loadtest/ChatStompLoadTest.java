@@ -0,0 +1,156 @@
+package com.example.mockvoting.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 STOMP 부하 테스트 (실행 중인 서버 대상)
+ * - 구독 세션 N개가 한 채팅방을 구독하고, 그중 일부가 일정 간격으로 메시지를 보낸다.
+ * - 전송 처리량, 수신 건수(누락 포함), 종단 간 지연(p50/p99/max)을 출력한다.
+ * - loadtest.slow-sessions 로 수신 처리를 지연시키는 세션을 섞어 느린 구독자 정책(chat.transport.slow-consumer-policy)을 확인한다.
+ *
+ * 실행: mvn test -Dtest=ChatStompLoadTest -Dloadtest.url=ws://localhost:8080/ws/websocket
+ *       [-Dloadtest.sessions=200 -Dloadtest.senders=20 -Dloadtest.messages=100 -Dloadtest.interval-ms=50
+ *        -Dloadtest.room=1 -Dloadtest.slow-sessions=0 -Dloadtest.slow-delay-ms=200]
+ */
+@EnabledIfSystemProperty(named = "loadtest.url", matches = ".+")
+class ChatStompLoadTest {
+
+	private static final String PREFIX = "loadtest:";
+
+	private final String url = System.getProperty("loadtest.url");
+	private final int sessionCount = Integer.getInteger("loadtest.sessions", 200);
+	private final int senderCount = Integer.getInteger("loadtest.senders", 20);
+	private final int messagesPerSender = Integer.getInteger("loadtest.messages", 100);
+	private final long intervalMs = Long.getLong("loadtest.interval-ms", 50);
+	private final int roomId = Integer.getInteger("loadtest.room", 1);
+	private final int slowSessionCount = Integer.getInteger("loadtest.slow-sessions", 0);
+	private final long slowDelayMs = Long.getLong("loadtest.slow-delay-ms", 200);
+
+	private final AtomicLong received = new AtomicLong();
+	private final ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+
+	@Test
+	void broadcastToRoom() throws Exception {
+		WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+		client.setMessageConverter(new MappingJackson2MessageConverter());
+
+		List<StompSession> sessions = new ArrayList<>();
+		try {
+			for (int i = 0; i < sessionCount; i++) {
+				StompSession session = client.connectAsync(url, new StompSessionHandlerAdapter() {
+				}).get(10, TimeUnit.SECONDS);
+				session.subscribe("/topic/chat/" + roomId, new RoomHandler(i < slowSessionCount));
+				sessions.add(session);
+			}
+			// 구독이 브로커에 등록될 시간
+			Thread.sleep(1000);
+
+			long started = System.nanoTime();
+			List<Thread> senders = new ArrayList<>();
+			for (int i = 0; i < Math.min(senderCount, sessions.size()); i++) {
+				StompSession session = sessions.get(sessions.size() - 1 - i);
+				String userId = "loadtest-" + i;
+				Thread sender = new Thread(() -> send(session, userId), "loadtest-sender-" + i);
+				sender.start();
+				senders.add(sender);
+			}
+			for (Thread sender : senders) {
+				sender.join();
+			}
+			double sendSeconds = (System.nanoTime() - started) / 1e9;
+
+			// 남은 메시지 수신 대기
+			long expected = (long) senders.size() * messagesPerSender * sessions.size();
+			long deadline = System.currentTimeMillis() + 30_000;
+			while (received.get() < expected && System.currentTimeMillis() < deadline) {
+				Thread.sleep(200);
+			}
+
+			report(senders.size() * messagesPerSender, sendSeconds, expected);
+		} finally {
+			sessions.forEach(StompSession::disconnect);
+			client.stop();
+		}
+	}
+
+	private void send(StompSession session, String userId) {
+		for (int i = 0; i < messagesPerSender; i++) {
+			session.send("/app/chat.send/" + roomId, Map.of(
+					"type", "CHAT",
+					"userId", userId,
+					"sender_nickname", userId,
+					"content", PREFIX + System.nanoTime()));
+			try {
+				Thread.sleep(intervalMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void report(long sent, double sendSeconds, long expected) {
+		List<Long> latencies = new ArrayList<>(latenciesMicros);
+		Collections.sort(latencies);
+		System.out.printf("전송 %d건 / %.1f초 (%.0f msg/s), 수신 %d / 예상 %d (누락 %d)%n",
+				sent, sendSeconds, sent / sendSeconds, received.get(), expected, expected - received.get());
+		if (!latencies.isEmpty()) {
+			System.out.printf("지연(ms) p50=%.1f p99=%.1f max=%.1f%n",
+					percentile(latencies, 0.50) / 1000.0, percentile(latencies, 0.99) / 1000.0,
+					latencies.get(latencies.size() - 1) / 1000.0);
+		}
+	}
+
+	private static long percentile(List<Long> sorted, double p) {
+		return sorted.get((int) Math.min(sorted.size() - 1, Math.round(p * (sorted.size() - 1))));
+	}
+
+	private class RoomHandler implements StompFrameHandler {
+
+		private final boolean slow;
+
+		RoomHandler(boolean slow) {
+			this.slow = slow;
+		}
+
+		@Override
+		public Type getPayloadType(StompHeaders headers) {
+			return Map.class;
+		}
+
+		@Override
+		public void handleFrame(StompHeaders headers, Object payload) {
+			Object content = ((Map<?, ?>) payload).get("content");
+			if (!(content instanceof String text) || !text.startsWith(PREFIX)) {
+				return;
+			}
+			received.incrementAndGet();
+			latenciesMicros.add((System.nanoTime() - Long.parseLong(text.substring(PREFIX.length()))) / 1000);
+
+			if (slow) {
+				try {
+					Thread.sleep(slowDelayMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+}
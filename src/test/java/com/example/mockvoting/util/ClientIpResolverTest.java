@@ -0,0 +1,47 @@
+package com.example.mockvoting.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientIpResolverTest {
+
+	private final ClientIpResolver resolver = new ClientIpResolver(true, "");
+
+	@Test
+	void usesForwardedClientBehindPrivateProxy() {
+		MockHttpServletRequest request = request("10.0.0.5", "203.0.113.7, 10.0.0.9");
+
+		assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+	}
+
+	@Test
+	void ignoresForwardedHeaderFromUntrustedPeer() {
+		MockHttpServletRequest request = request("198.51.100.20", "203.0.113.7");
+
+		assertThat(resolver.resolve(request)).isEqualTo("198.51.100.20");
+	}
+
+	@Test
+	void ignoresSpoofedEntriesLeftOfTheRealClient() {
+		MockHttpServletRequest request = request("10.0.0.5", "1.2.3.4, 203.0.113.7");
+
+		assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+	}
+
+	@Test
+	void trustsConfiguredPublicProxy() {
+		ClientIpResolver configured = new ClientIpResolver(false, "198.51.100.20");
+		MockHttpServletRequest request = request("198.51.100.20", "203.0.113.7");
+
+		assertThat(configured.resolve(request)).isEqualTo("203.0.113.7");
+	}
+
+	private MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr(remoteAddr);
+		request.addHeader("X-Forwarded-For", forwardedFor);
+		return request;
+	}
+}
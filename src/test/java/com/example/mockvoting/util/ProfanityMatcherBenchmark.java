@@ -0,0 +1,99 @@
+package com.example.mockvoting.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProfanityMatcher 와 이전 방식(사전 단어마다 toLowerCase + contains) 비교
+ * - 실행: mvn test-compile 후 테스트 클래스패스로 main 메서드 실행 (IDE 등)
+ * - 이름이 *Test 가 아니므로 mvn test 에서는 실행되지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfanityMatcherBenchmark {
+
+	// 비속어가 없는 메시지는 사전 전체를 훑어야 하므로 이전 방식의 최악 경우
+	@Param({"clean", "profane"})
+	public String message;
+
+	@Param({"40", "400"})
+	public int length;
+
+	private ProfanityMatcher matcher;
+	private List<String> profanityList;
+	private String text;
+
+	@Setup
+	public void setUp() throws IOException {
+		matcher = new ProfanityMatcher();
+		ReflectionTestUtils.setField(matcher, "initialConsonantMatch", true);
+		matcher.init();
+
+		profanityList = new ArrayList<>();
+		try (InputStream inputStream = new ClassPathResource("profanity/profanity.json").getInputStream()) {
+			JsonNode profanityNode = new ObjectMapper().readTree(inputStream).get("profanity");
+			for (JsonNode node : profanityNode) {
+				profanityList.add(node.asText());
+			}
+		}
+
+		StringBuilder builder = new StringBuilder();
+		while (builder.length() < length) {
+			builder.append("오늘 토론회 다시 보셨나요? 후보자 공약 비교해 봤는데 ");
+		}
+		builder.setLength(length);
+		if ("profane".equals(message)) {
+			builder.replace(length - 2, length, "시발");
+		}
+		text = builder.toString();
+	}
+
+	@Benchmark
+	public boolean ahoCorasick() {
+		return matcher.containsProfanity(text);
+	}
+
+	// 이전 PerspectiveApiService.containsCustomProfanity
+	@Benchmark
+	public boolean perWordContains() {
+		String lowerText = text.toLowerCase();
+		for (String word : profanityList) {
+			if (lowerText.contains(word.toLowerCase())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ProfanityMatcherBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
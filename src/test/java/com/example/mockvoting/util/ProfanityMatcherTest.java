@@ -0,0 +1,61 @@
+package com.example.mockvoting.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfanityMatcherTest {
+
+	private ProfanityMatcher matcher;
+
+	@BeforeEach
+	void setUp() {
+		matcher = new ProfanityMatcher();
+		ReflectionTestUtils.setField(matcher, "initialConsonantMatch", true);
+		matcher.init();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"시발", "ㅅㅣ발", "시ㅂㅏㄹ", "ㅅㅣㅂㅏㄹ", "시1발", "시.발", "병신아", "ㅅㅂ", "ㅆㅂ"})
+	void detectsProfanity(String text) {
+		assertThat(matcher.containsProfanity(text)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"다시 발표", "최고 자리", "이유 모름", "희망 가득", "번호 로그인"})
+	void doesNotMatchAcrossWhitespace(String text) {
+		assertThat(matcher.containsProfanity(text)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"고장", "고작", "망각", "유목", "야산"})
+	void doesNotMatchSyllablePrefixes(String text) {
+		assertThat(matcher.containsProfanity(text)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"ㅇㅋ", "ㅇㅈ", "ㄱㅊ", "ㅇㄷ", "ㅅㅅ", "ㅈㅈ", "ㅇㄱ"})
+	void doesNotMatchEverydayInitials(String text) {
+		assertThat(matcher.containsProfanity(text)).isFalse();
+	}
+
+	@Test
+	void curatedInitialsCanBeDisabled() {
+		ProfanityMatcher withoutInitials = new ProfanityMatcher();
+		ReflectionTestUtils.setField(withoutInitials, "initialConsonantMatch", false);
+		withoutInitials.init();
+
+		assertThat(withoutInitials.containsProfanity("ㅆㅂ")).isFalse();
+		assertThat(withoutInitials.containsProfanity("시발")).isTrue();
+	}
+
+	@Test
+	void ignoresNullAndEmpty() {
+		assertThat(matcher.containsProfanity(null)).isFalse();
+		assertThat(matcher.containsProfanity("")).isFalse();
+	}
+}